@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package mazes;
+
+import java.util.Random;
+
+import search.Searcher;
+
+/**
+ * Compares solving a maze from many random starts with a breadth-first
+ * Searcher per start against building one DistanceField and following it
+ * from each start.
+ * 
+ * Usage: DistanceFieldDriver [side [starts]]
+ */
+public class DistanceFieldDriver {
+	public static void main(String[] args) {
+		final int side = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		final int starts = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		final Maze maze = MazeGenerator.withGridGraph(side, side, 0).generateDfs();
+		final Random random = new Random(0);
+		final Cell[] cells = new Cell[starts];
+		for (int i = 0; i < starts; i++) {
+			cells[i] = new Cell(random.nextInt(side), random.nextInt(side));
+		}
+
+		// searching from every start would take too long; time a sample
+		final int sample = Math.min(starts, 20);
+		long searched = 0;
+		long begin = System.nanoTime();
+		for (int i = 0; i < sample; i++) {
+			searched += new Searcher<Cell>(maze.withStart(cells[i])).findSolution().size();
+		}
+		final double searchMs = (System.nanoTime() - begin) / 1e6 / sample;
+
+		begin = System.nanoTime();
+		final DistanceField field = new DistanceField(maze);
+		final double buildMs = (System.nanoTime() - begin) / 1e6;
+		begin = System.nanoTime();
+		long followed = 0;
+		for (Cell cell : cells) {
+			followed += field.pathFrom(cell).size();
+		}
+		final double followMs = (System.nanoTime() - begin) / 1e6 / starts;
+
+		System.out.printf("%d x %d maze, %d starts%n", side, side, starts);
+		System.out.printf("Searcher:      %10.3f ms per start (%d starts sampled, %d states)%n", searchMs, sample,
+				searched);
+		System.out.printf("DistanceField: %10.3f ms to build, %.3f ms per start (%d states)%n", buildMs, followMs,
+				followed);
+		System.out.printf("for all %d starts: %.0f ms vs %.0f ms%n", starts, searchMs * starts,
+				buildMs + followMs * starts);
+	}
+}
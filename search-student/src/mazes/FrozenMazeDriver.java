@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package mazes;
+
+import search.IndexedSearcher;
+import search.Searcher;
+
+/**
+ * Compares mazes whose passages are in an UnweightedSparseGraph with frozen
+ * copies whose passages are in a CsrGraph: the time to list the successors
+ * of every cell, and the time to solve the maze with Searcher and with
+ * IndexedSearcher.
+ * 
+ * Usage: FrozenMazeDriver [maxSide]
+ */
+public class FrozenMazeDriver {
+	public static void main(String[] args) {
+		int maxSide = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		for (int side = 50; side <= maxSide; side *= 2) {
+			Maze maze = new MazeGenerator(side, side, 0).generateDfs();
+			long begin = System.nanoTime();
+			Maze frozen = maze.freeze();
+			System.out.printf("%dx%d: froze in %.1f ms%n", side, side, (System.nanoTime() - begin) / 1e6);
+			for (int round = 0; round < 3; round++) {
+				report("  sparse", maze, side);
+				report("  frozen", frozen, side);
+			}
+		}
+	}
+
+	private static void report(String name, Maze maze, int side) {
+		long begin = System.nanoTime();
+		long passages = 0;
+		for (int repeat = 0; repeat < 10; repeat++) {
+			for (int x = 0; x < side; x++) {
+				for (int y = 0; y < side; y++) {
+					passages += maze.getSuccessors(new Cell(x, y)).size();
+				}
+			}
+		}
+		double neighbors = (System.nanoTime() - begin) / 1e7;
+
+		begin = System.nanoTime();
+		int length = new Searcher<Cell>(maze).findSolution().size();
+		double search = (System.nanoTime() - begin) / 1e6;
+
+		begin = System.nanoTime();
+		new IndexedSearcher<Cell>(maze).findSolution();
+		double indexed = (System.nanoTime() - begin) / 1e6;
+
+		System.out.printf("%s: neighbors %6.2f ms, Searcher %6.2f ms, IndexedSearcher %6.2f ms [%d, %d]%n", name,
+				neighbors, search, indexed, passages / 20, length);
+	}
+}
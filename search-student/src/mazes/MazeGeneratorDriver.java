@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package mazes;
+
+/**
+ * Reports the generation throughput, in cells per second, of each maze
+ * generator on square mazes of increasing size. The streaming Eller's
+ * generator is also timed on its own, without building a graph.
+ * 
+ * Usage: MazeGeneratorDriver [maxSide]
+ */
+public class MazeGeneratorDriver {
+	private static long sink;
+
+	private static double time(String name, int side, Runnable generate) {
+		long begin = System.nanoTime();
+		generate.run();
+		double seconds = (System.nanoTime() - begin) / 1e9;
+		double cells = (double) side * side;
+		System.out.printf("%-22s %6d x %-6d %10.1f ms %14.0f cells/s%n", name, side, side, seconds * 1e3,
+				cells / seconds);
+		return seconds;
+	}
+
+	public static void main(String[] args) {
+		int maxSide = args.length > 0 ? Integer.parseInt(args[0]) : 800;
+		// warm up
+		for (int i = 0; i < 5; i++) {
+			new MazeGenerator(100, 100, i).generateDfs();
+			new MazeGenerator(100, 100, i).generateKruskal();
+			MazeGenerator.withGridGraph(100, 100, i).generateEller();
+		}
+
+		for (int side = 100; side <= maxSide; side *= 2) {
+			final int s = side;
+			time("dfs (sparse)", s, () -> new MazeGenerator(s, s, 0).generateDfs());
+			time("dfs (grid)", s, () -> MazeGenerator.withGridGraph(s, s, 0).generateDfs());
+			time("kruskal (sparse)", s, () -> new MazeGenerator(s, s, 0).generateKruskal());
+			time("kruskal (grid)", s, () -> MazeGenerator.withGridGraph(s, s, 0).generateKruskal());
+			time("eller (sparse)", s, () -> new MazeGenerator(s, s, 0).generateEller());
+			time("eller (grid)", s, () -> MazeGenerator.withGridGraph(s, s, 0).generateEller());
+			time("eller (stream)", s, () -> MazeGenerator.streamEller(s, s, 0, (y, east, south) -> {
+				sink += east[0] ? y : 0;
+			}));
+		}
+		time("eller (stream)", maxSide * 4, () -> MazeGenerator.streamEller(maxSide * 4, maxSide * 4, 0,
+				(y, east, south) -> sink += south[0] ? y : 0));
+		if (sink == 42) {
+			System.out.println();
+		}
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package mazes;
+
+/**
+ * Reports how long it takes to generate square mazes of increasing size, to
+ * render them, and to list the successors of every cell, so that the growth
+ * of each with the number of cells can be seen.
+ * 
+ * Usage: MazeScalingDriver [maxSide]
+ */
+public class MazeScalingDriver {
+	public static void main(String[] args) {
+		int maxSide = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+		// warm up
+		new MazeGenerator(50, 50, 0).generateDfs().toString();
+
+		for (int side = 50; side <= maxSide; side *= 2) {
+			long begin = System.nanoTime();
+			Maze maze = new MazeGenerator(side, side, 0).generateDfs();
+			double generate = (System.nanoTime() - begin) / 1e6;
+
+			begin = System.nanoTime();
+			int length = maze.toString().length();
+			double render = (System.nanoTime() - begin) / 1e6;
+
+			begin = System.nanoTime();
+			long passages = 0;
+			for (int x = 0; x < side; x++) {
+				for (int y = 0; y < side; y++) {
+					passages += maze.getSuccessors(new Cell(x, y)).size();
+				}
+			}
+			double neighbors = (System.nanoTime() - begin) / 1e6;
+
+			long cells = (long) side * side;
+			System.out.printf("%9d cells: generate %9.1f ms (%6.0f ns/cell), render %8.1f ms (%5.0f ns/cell),"
+					+ " neighbors %8.1f ms (%5.0f ns/cell) [%d chars, %d passages]%n", cells, generate,
+					generate * 1e6 / cells, render, render * 1e6 / cells, neighbors, neighbors * 1e6 / cells,
+					length, passages / 2);
+		}
+	}
+}
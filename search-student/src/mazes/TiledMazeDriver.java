@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package mazes;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Reports how long tiled parallel generation of a large maze takes on pools
+ * of 1, 2, 4, ... threads, up to the number of available processors, next to
+ * the single-threaded generateDfs().
+ * 
+ * Usage: TiledMazeDriver [side [tileSize]]
+ */
+public class TiledMazeDriver {
+	private static double time(Runnable generate) {
+		long begin = System.nanoTime();
+		generate.run();
+		return (System.nanoTime() - begin) / 1e6;
+	}
+
+	public static void main(String[] args) {
+		final int side = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		final int tileSize = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+		final int cores = Runtime.getRuntime().availableProcessors();
+		// warm up
+		for (int i = 0; i < 3; i++) {
+			MazeGenerator.withGridGraph(200, 200, i).generateDfs();
+			MazeGenerator.withGridGraph(200, 200, i).generateTiled(tileSize);
+		}
+
+		System.out.printf("%d x %d maze, %d x %d tiles, %d available processors%n", side, side, tileSize, tileSize,
+				cores);
+		final double dfs = time(() -> MazeGenerator.withGridGraph(side, side, 0).generateDfs());
+		System.out.printf("generateDfs     %10.1f ms%n", dfs);
+		for (int threads = 1; threads <= cores; threads *= 2) {
+			final ForkJoinPool pool = new ForkJoinPool(threads);
+			final double tiled = time(() -> MazeGenerator.withGridGraph(side, side, 0).generateTiled(tileSize, pool));
+			pool.shutdown();
+			System.out.printf("%2d thread(s)    %10.1f ms (%.2fx generateDfs)%n", threads, tiled, dfs / tiled);
+		}
+	}
+}
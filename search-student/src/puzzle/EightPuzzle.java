@@ -5,8 +5,10 @@
 package puzzle;
 
 import java.util.*;
+import java.util.function.Consumer;
 
-import search.SearchProblem;
+import search.HeuristicSearchProblem;
+import search.IndexedReversibleSearchProblem;
 import search.Searcher;
 
 /**
@@ -48,10 +50,10 @@ import search.Searcher;
  * @author liberato
  *
  */
-public class EightPuzzle implements SearchProblem<List<Integer>> {
+public class EightPuzzle implements HeuristicSearchProblem<List<Integer>>,
+		IndexedReversibleSearchProblem<List<Integer>> {
 	private final List<Integer> initialState;
 	private final List<Integer> goalState = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 0);;
-	private List<List<Integer>> successorsList;
 	/**
 	 * Creates a new instance of the 8 puzzle with the given starting values.
 	 * 
@@ -69,7 +71,6 @@ public class EightPuzzle implements SearchProblem<List<Integer>> {
 		}
 		else {
 			initialState = new ArrayList<>(startingValues);
-			successorsList = new ArrayList<>();
 		}
 	}
 
@@ -81,38 +82,33 @@ public class EightPuzzle implements SearchProblem<List<Integer>> {
 
 	@Override
 	public List<List<Integer>> getSuccessors(List<Integer> currentState) {
-		// TODO
+		List<List<Integer>> successorsList = new ArrayList<>(4);
+		forEachSuccessor(currentState, successorsList::add);
+		return successorsList;
+	}
+
+	@Override
+	public void forEachSuccessor(List<Integer> currentState, Consumer<? super List<Integer>> sink) {
 		int emptySpace = currentState.indexOf(0);
-		List<Integer> leftSuccessor = Arrays.asList(1, 2, 4, 5, 7, 8);
-		List<Integer> rightSuccessor = Arrays.asList(0, 1, 3, 4, 6, 7);
-		List<Integer> upperSuccessor = Arrays.asList(3, 4, 5, 6, 7, 8);
-		List<Integer> belowSuccessor = Arrays.asList(0, 1, 2, 3, 4, 5);
-
-		if (leftSuccessor.contains(emptySpace)) {
-			List<Integer> copyList = new ArrayList<>(currentState);
-			copyList.set(currentState.indexOf(0), currentState.get(currentState.indexOf(0) - 1));
-			copyList.set(emptySpace - 1, 0);
-			successorsList.add(copyList);
+		if (emptySpace % 3 > 0) {
+			sink.accept(swapEmpty(currentState, emptySpace, emptySpace - 1));
 		}
-		if (rightSuccessor.contains(emptySpace)) {
-			List<Integer> copyList = new ArrayList<>(currentState);
-			copyList.set(currentState.indexOf(0), currentState.get(currentState.indexOf(0) + 1));
-			copyList.set(emptySpace + 1, 0);
-			successorsList.add(copyList);
+		if (emptySpace % 3 < 2) {
+			sink.accept(swapEmpty(currentState, emptySpace, emptySpace + 1));
 		}
-		if (upperSuccessor.contains(emptySpace)) {
-			List<Integer> copyList = new ArrayList<>(currentState);
-			copyList.set(currentState.indexOf(0), currentState.get(currentState.indexOf(0) - 3));
-			copyList.set(emptySpace - 3, 0);
-			successorsList.add(copyList);
+		if (emptySpace >= 3) {
+			sink.accept(swapEmpty(currentState, emptySpace, emptySpace - 3));
 		}
-		if (belowSuccessor.contains(emptySpace)) {
-			List<Integer> copyList = new ArrayList<>(currentState);
-			copyList.set(currentState.indexOf(0), currentState.get(currentState.indexOf(0) + 3));
-			copyList.set(emptySpace + 3, 0);
-			successorsList.add(copyList);
+		if (emptySpace < 6) {
+			sink.accept(swapEmpty(currentState, emptySpace, emptySpace + 3));
 		}
-		return successorsList;
+	}
+
+	private static List<Integer> swapEmpty(List<Integer> currentState, int emptySpace, int other) {
+		List<Integer> copyList = new ArrayList<>(currentState);
+		copyList.set(emptySpace, currentState.get(other));
+		copyList.set(other, 0);
+		return copyList;
 	}
 
 	@Override
@@ -121,6 +117,65 @@ public class EightPuzzle implements SearchProblem<List<Integer>> {
 		return goalState.equals(state);
 	}
 
+	@Override
+	public List<List<Integer>> getGoalStates() {
+		return Collections.singletonList(goalState);
+	}
+
+	/**
+	 * Every move can be undone by moving the empty space back, so the
+	 * predecessors of a state are exactly its successors.
+	 */
+	@Override
+	public List<List<Integer>> getPredecessors(List<Integer> currentState) {
+		return getSuccessors(currentState);
+	}
+
+	/**
+	 * There are 9! arrangements of the values, of which only half are
+	 * reachable from any given state.
+	 */
+	@Override
+	public int stateCount() {
+		return 362880;
+	}
+
+	/**
+	 * States are numbered by their rank in lexicographic order; see
+	 * EightPuzzleTable.rank().
+	 */
+	@Override
+	public int indexOf(List<Integer> state) {
+		return EightPuzzleTable.rank(state);
+	}
+
+	@Override
+	public List<Integer> stateAt(int index) {
+		return EightPuzzleTable.unrank(index);
+	}
+
+	/**
+	 * Returns the sum, over the eight numbered tiles, of the horizontal plus
+	 * vertical distance between each tile and its position in the goal state,
+	 * or Integer.MAX_VALUE if the state is unsolvable (see
+	 * SlidingPuzzle.isSolvable()).
+	 */
+	@Override
+	public int estimateDistanceToGoal(List<Integer> state) {
+		if (!SlidingPuzzle.isSolvable(3, state)) {
+			return Integer.MAX_VALUE;
+		}
+		int distance = 0;
+		for (int i = 0; i < 9; i++) {
+			int value = state.get(i);
+			if (value != 0) {
+				int goalIndex = value - 1;
+				distance += Math.abs(i / 3 - goalIndex / 3) + Math.abs(i % 3 - goalIndex % 3);
+			}
+		}
+		return distance;
+	}
+
 	public static void main(String[] args) {
 		EightPuzzle eightPuzzle = new EightPuzzle(Arrays.asList(new Integer[] {1, 2, 3, 4, 0, 6, 7, 5, 8 }));
 
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package puzzle;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * A precomputed table of optimal moves for every state of the eight-puzzle.
+ * 
+ * Each of the 9! arrangements of the values 0 -- 8 is indexed by its rank in
+ * lexicographic order (its Lehmer code), which is a perfect hash from states
+ * to 0 -- 362879. The table holds one byte per rank: the low five bits are
+ * the number of moves from that state to the goal, and the next two bits
+ * are the direction in which to move the empty space to get one move closer.
+ * Unsolvable states (half of all arrangements) hold 0xFF.
+ * 
+ * The table is built once by a breadth-first search backwards from the goal
+ * state, and can be saved to and loaded from a file. After that, a solvable
+ * state is solved by following the table one move at a time, with no search.
+ * 
+ * @author liberato
+ *
+ */
+public class EightPuzzleTable {
+	private static final int CELLS = 9;
+	private static final int STATES = 362880;
+	private static final int UNREACHABLE = 0xFF;
+	private static final int MAGIC = 0x38505a54; // "8PZT"
+	private static final int VERSION = 1;
+
+	// moves of the empty space: left, right, up, down
+	private static final int[] OFFSETS = { -1, 1, -3, 3 };
+	private static final int[] OPPOSITE = { 1, 0, 3, 2 };
+	private static final int[] FACTORIALS = { 1, 1, 2, 6, 24, 120, 720, 5040, 40320 };
+	private static final List<Integer> GOAL = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 0);
+
+	private final byte[] table;
+
+	private EightPuzzleTable(byte[] table) {
+		this.table = table;
+	}
+
+	/**
+	 * Builds the table by a breadth-first search backwards from the goal.
+	 * 
+	 * @return the complete table
+	 */
+	public static EightPuzzleTable build() {
+		final byte[] table = new byte[STATES];
+		Arrays.fill(table, (byte) UNREACHABLE);
+		final int[] queue = new int[STATES / 2];
+		final int[] board = new int[CELLS];
+		int head = 0;
+		int tail = 0;
+
+		final int goalRank = rank(GOAL);
+		table[goalRank] = 0;
+		queue[tail++] = goalRank;
+		while (head < tail) {
+			final int current = queue[head++];
+			final int distance = table[current] & 0x1F;
+			unrank(current, board);
+			final int empty = emptySpace(board);
+			for (int move = 0; move < 4; move++) {
+				if (!canMove(empty, move)) {
+					continue;
+				}
+				final int other = empty + OFFSETS[move];
+				swap(board, empty, other);
+				final int next = rank(board);
+				if ((table[next] & 0xFF) == UNREACHABLE) {
+					// from next, moving the empty space back undoes this move
+					table[next] = (byte) ((OPPOSITE[move] << 5) | (distance + 1));
+					queue[tail++] = next;
+				}
+				swap(board, empty, other);
+			}
+		}
+		return new EightPuzzleTable(table);
+	}
+
+	/**
+	 * Loads a table previously written by save().
+	 * 
+	 * @param file
+	 * @return the table
+	 * @throws IOException
+	 *             if the file cannot be read or is not a saved table
+	 */
+	public static EightPuzzleTable load(File file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("Not an eight-puzzle table: " + file);
+			}
+			final byte[] table = new byte[STATES];
+			in.readFully(table);
+			return new EightPuzzleTable(table);
+		}
+	}
+
+	/**
+	 * Writes this table to the given file.
+	 * 
+	 * @param file
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public void save(File file) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.write(table);
+		}
+	}
+
+	/**
+	 * Returns the lexicographic rank of an arrangement of the values 0 -- 8.
+	 * 
+	 * @param values
+	 *            the nine values, indexed as in EightPuzzle
+	 * @return the rank, from 0 to 362879
+	 */
+	public static int rank(List<Integer> values) {
+		return rank(toBoard(values));
+	}
+
+	private static int rank(int[] board) {
+		int rank = 0;
+		for (int i = 0; i < CELLS; i++) {
+			int smaller = 0;
+			for (int j = i + 1; j < CELLS; j++) {
+				if (board[j] < board[i]) {
+					smaller++;
+				}
+			}
+			rank += smaller * FACTORIALS[CELLS - 1 - i];
+		}
+		return rank;
+	}
+
+	/**
+	 * Returns the arrangement of the values 0 -- 8 with the given rank.
+	 * 
+	 * @param rank
+	 *            a rank, from 0 to 362879
+	 * @return the nine values, indexed as in EightPuzzle
+	 */
+	public static List<Integer> unrank(int rank) {
+		final int[] board = new int[CELLS];
+		unrank(rank, board);
+		return toList(board);
+	}
+
+	private static void unrank(int rank, int[] board) {
+		int used = 0;
+		for (int i = 0; i < CELLS; i++) {
+			// the value at i is the (smaller)th smallest value not yet used
+			int smaller = rank / FACTORIALS[CELLS - 1 - i];
+			rank %= FACTORIALS[CELLS - 1 - i];
+			for (int value = 0; value < CELLS; value++) {
+				if ((used & (1 << value)) == 0 && smaller-- == 0) {
+					used |= 1 << value;
+					board[i] = value;
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of moves needed to solve the given state, or -1 if it
+	 * cannot be solved.
+	 * 
+	 * @param values
+	 *            the nine values, indexed as in EightPuzzle
+	 * @return the solution distance, or -1
+	 * @throws IllegalArgumentException
+	 *             if values is not an arrangement of 0 -- 8
+	 */
+	public int distance(List<Integer> values) {
+		if (values.size() != CELLS || !values.containsAll(GOAL)) {
+			throw new IllegalArgumentException();
+		}
+		final int entry = table[rank(values)] & 0xFF;
+		return entry == UNREACHABLE ? -1 : entry & 0x1F;
+	}
+
+	/**
+	 * Returns a shortest solution from the given state, in the same form as
+	 * Searcher.findSolution(): a list of states, starting with the given state
+	 * and ending with the goal.
+	 * 
+	 * @param values
+	 *            the nine values, indexed as in EightPuzzle
+	 * @return a shortest solution, or an empty list if there is none
+	 * @throws IllegalArgumentException
+	 *             if values is not an arrangement of 0 -- 8
+	 */
+	public List<List<Integer>> solve(List<Integer> values) {
+		int distance = distance(values);
+		if (distance < 0) {
+			return new ArrayList<>();
+		}
+		final List<List<Integer>> solution = new ArrayList<>(distance + 1);
+		final int[] board = toBoard(values);
+		int current = rank(board);
+		int empty = emptySpace(board);
+		solution.add(toList(board));
+		while (distance > 0) {
+			final int move = (table[current] & 0xFF) >>> 5;
+			final int other = empty + OFFSETS[move];
+			swap(board, empty, other);
+			empty = other;
+			current = rank(board);
+			distance--;
+			solution.add(toList(board));
+		}
+		return solution;
+	}
+
+	/**
+	 * Builds the table and saves it to the file named by the first argument.
+	 */
+	public static void main(String[] args) throws IOException {
+		long begin = System.nanoTime();
+		EightPuzzleTable table = build();
+		System.out.printf("built in %.1f ms%n", (System.nanoTime() - begin) / 1e6);
+		File file = new File(args.length > 0 ? args[0] : "eight-puzzle.table");
+		table.save(file);
+		System.out.println("saved " + file.length() + " bytes to " + file);
+	}
+
+	private static int[] toBoard(List<Integer> values) {
+		final int[] board = new int[CELLS];
+		for (int i = 0; i < CELLS; i++) {
+			board[i] = values.get(i);
+		}
+		return board;
+	}
+
+	private static List<Integer> toList(int[] board) {
+		final List<Integer> list = new ArrayList<>(CELLS);
+		for (int value : board) {
+			list.add(value);
+		}
+		return list;
+	}
+
+	private static int emptySpace(int[] board) {
+		for (int i = 0; i < CELLS; i++) {
+			if (board[i] == 0) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException();
+	}
+
+	private static boolean canMove(int empty, int move) {
+		switch (move) {
+		case 0:
+			return empty % 3 > 0;
+		case 1:
+			return empty % 3 < 2;
+		case 2:
+			return empty >= 3;
+		default:
+			return empty < 6;
+		}
+	}
+
+	private static void swap(int[] board, int i, int j) {
+		final int temp = board[i];
+		board[i] = board[j];
+		board[j] = temp;
+	}
+}
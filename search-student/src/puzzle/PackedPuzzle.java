@@ -0,0 +1,282 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package puzzle;
+
+import java.util.*;
+
+import search.HeuristicSearchProblem;
+import search.LongSearchProblem;
+import search.ReversibleSearchProblem;
+
+/**
+ * A sliding-tile puzzle of size 3 (the eight-puzzle) or 4 (the 15-puzzle)
+ * whose states are packed into a single long, four bits per space.
+ * 
+ * Spaces are indexed row by row as in SlidingPuzzle, and the value at index
+ * i is stored in bits 4i to 4i + 3. The empty space is 0. Since the empty
+ * space is the only zero nibble, its index is found with a few word-wide bit
+ * operations rather than a scan, and a move is a single masked shift of the
+ * tile being moved.
+ * 
+ * The primitive methods (initialState(), successors(long, long[]),
+ * isGoal(long), estimateDistanceToGoal(long)) do not allocate, and
+ * LongSearcher searches through them. The SearchProblem methods box their
+ * results, so that this puzzle can also be used with any other Searcher.
+ * 
+ * @author liberato
+ *
+ */
+public class PackedPuzzle implements HeuristicSearchProblem<Long>, ReversibleSearchProblem<Long>, LongSearchProblem {
+	private static final long LOW_BITS = 0x1111111111111111L;
+
+	private final int size;
+	private final int cells;
+	private final long cellMask;
+	private final long initialState;
+	private final long goalState;
+
+	/**
+	 * Creates a new instance of the puzzle with the given starting values.
+	 * 
+	 * @param size
+	 *            the number of rows (and of columns); either 3 or 4
+	 * @param startingValues
+	 *            the starting values, 0 -- (size * size - 1), indexed as in
+	 *            SlidingPuzzle
+	 * @throws IllegalArgumentException
+	 *             if size or startingValues is invalid
+	 */
+	public PackedPuzzle(int size, List<Integer> startingValues) throws IllegalArgumentException {
+		if (size != 3 && size != 4) {
+			throw new IllegalArgumentException();
+		}
+		// let SlidingPuzzle check the starting values
+		new SlidingPuzzle(size, startingValues);
+		this.size = size;
+		this.cells = size * size;
+		this.cellMask = cells == 16 ? -1L : (1L << (4 * cells)) - 1;
+		this.initialState = pack(startingValues);
+		long goal = 0;
+		for (int i = 0; i < cells - 1; i++) {
+			goal |= (long) (i + 1) << (4 * i);
+		}
+		this.goalState = goal;
+	}
+
+	/**
+	 * Packs a puzzle state, indexed as in SlidingPuzzle, into a long.
+	 * 
+	 * @param values
+	 *            at most 16 values, each from 0 to 15
+	 * @return the packed state
+	 */
+	public static long pack(List<Integer> values) {
+		if (values.size() > 16) {
+			throw new IllegalArgumentException();
+		}
+		long state = 0;
+		for (int i = 0; i < values.size(); i++) {
+			int value = values.get(i);
+			if (value < 0 || value > 15) {
+				throw new IllegalArgumentException();
+			}
+			state |= (long) value << (4 * i);
+		}
+		return state;
+	}
+
+	/**
+	 * Unpacks a puzzle state into a list of values indexed as in
+	 * SlidingPuzzle.
+	 * 
+	 * @param state
+	 *            the packed state
+	 * @param size
+	 *            the number of rows (and of columns) in the puzzle
+	 * @return the list of size * size values
+	 */
+	public static List<Integer> unpack(long state, int size) {
+		List<Integer> values = new ArrayList<>(size * size);
+		for (int i = 0; i < size * size; i++) {
+			values.add(tileAt(state, i));
+		}
+		return values;
+	}
+
+	/**
+	 * @return the value at the given index of the packed state
+	 */
+	public static int tileAt(long state, int index) {
+		return (int) (state >>> (4 * index)) & 0xF;
+	}
+
+	/**
+	 * @return the number of rows (and of columns) in this puzzle
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * @return the packed initial state
+	 */
+	public long initialState() {
+		return initialState;
+	}
+
+	/**
+	 * @return the packed goal state
+	 */
+	public long goalState() {
+		return goalState;
+	}
+
+	/**
+	 * Returns the index of the empty space in the given state.
+	 * 
+	 * @param state
+	 *            the packed state
+	 * @return the index of the empty space
+	 */
+	public int emptySpace(long state) {
+		// fold each nibble into its lowest bit; the empty space is the one
+		// nibble whose lowest bit is then still zero
+		long folded = state | (state >>> 1);
+		folded |= folded >>> 2;
+		return Long.numberOfTrailingZeros(~folded & LOW_BITS & cellMask) >>> 2;
+	}
+
+	/**
+	 * Writes the successors of a state into the given array, in the same
+	 * order as SlidingPuzzle.getSuccessors() (left, right, up, down).
+	 * 
+	 * @param state
+	 *            the packed state
+	 * @param out
+	 *            an array with room for at least four states
+	 * @return the number of successors written to out
+	 */
+	public int successors(long state, long[] out) {
+		final int empty = emptySpace(state);
+		final int row = empty / size;
+		final int column = empty - row * size;
+		int count = 0;
+		if (column > 0) {
+			out[count++] = move(state, empty, empty - 1);
+		}
+		if (column < size - 1) {
+			out[count++] = move(state, empty, empty + 1);
+		}
+		if (row > 0) {
+			out[count++] = move(state, empty, empty - size);
+		}
+		if (row < size - 1) {
+			out[count++] = move(state, empty, empty + size);
+		}
+		return count;
+	}
+
+	private static long move(long state, int empty, int from) {
+		final int shift = 4 * from;
+		final long tile = (state >>> shift) & 0xF;
+		return (state & ~(0xFL << shift)) | (tile << (4 * empty));
+	}
+
+	/**
+	 * @return 4, as the empty space has at most four neighbors
+	 */
+	public int maxSuccessors() {
+		return 4;
+	}
+
+	/**
+	 * @return true iff the packed state is the goal state
+	 */
+	public boolean isGoal(long state) {
+		return state == goalState;
+	}
+
+	/**
+	 * Returns whether the goal can be reached from the packed state; see
+	 * SlidingPuzzle.isSolvable().
+	 * 
+	 * @param state
+	 *            the packed state
+	 * @return true iff the goal can be reached from state
+	 */
+	public boolean isSolvable(long state) {
+		int seen = 0;
+		int cycles = 0;
+		for (int i = 0; i < cells; i++) {
+			if ((seen & (1 << i)) == 0) {
+				cycles++;
+				for (int j = i; (seen & (1 << j)) == 0;) {
+					seen |= 1 << j;
+					final int value = tileAt(state, j);
+					j = value == 0 ? cells - 1 : value - 1;
+				}
+			}
+		}
+		final int empty = emptySpace(state);
+		final int emptyDistance = (size - 1 - empty / size) + (size - 1 - empty % size);
+		return (cells - cycles) % 2 == emptyDistance % 2;
+	}
+
+	/**
+	 * Returns the sum, over the numbered tiles, of the horizontal plus
+	 * vertical distance between each tile and its position in the goal state,
+	 * or Integer.MAX_VALUE if the state is unsolvable.
+	 */
+	public int estimateDistanceToGoal(long state) {
+		if (!isSolvable(state)) {
+			return Integer.MAX_VALUE;
+		}
+		int distance = 0;
+		for (int i = 0; i < cells; i++) {
+			final int value = tileAt(state, i);
+			if (value != 0) {
+				final int goalIndex = value - 1;
+				distance += Math.abs(i / size - goalIndex / size) + Math.abs(i % size - goalIndex % size);
+			}
+		}
+		return distance;
+	}
+
+	@Override
+	public Long getInitialState() {
+		return initialState;
+	}
+
+	@Override
+	public List<Long> getSuccessors(Long currentState) {
+		final long[] out = new long[4];
+		final int count = successors(currentState, out);
+		final List<Long> successors = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			successors.add(out[i]);
+		}
+		return successors;
+	}
+
+	@Override
+	public boolean isGoal(Long state) {
+		return isGoal(state.longValue());
+	}
+
+	@Override
+	public int estimateDistanceToGoal(Long state) {
+		return estimateDistanceToGoal(state.longValue());
+	}
+
+	@Override
+	public List<Long> getGoalStates() {
+		return Collections.singletonList(goalState);
+	}
+
+	@Override
+	public List<Long> getPredecessors(Long currentState) {
+		return getSuccessors(currentState);
+	}
+}
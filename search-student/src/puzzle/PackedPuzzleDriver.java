@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package puzzle;
+
+import java.util.Arrays;
+import java.util.List;
+
+import search.LongSearcher;
+import search.Searcher;
+
+/**
+ * Compares how many states per second Searcher explores on EightPuzzle and
+ * on PackedPuzzle, and LongSearcher on PackedPuzzle. Each is given an
+ * unsolvable board, so that the search visits every one of the 181,440
+ * reachable states.
+ * 
+ * Also compares the rate at which each puzzle alone generates successors,
+ * along a pseudo-random walk, without the overhead of a Searcher.
+ */
+public class PackedPuzzleDriver {
+	private static final int STATES = 181440;
+
+	public static void main(String[] args) {
+		List<Integer> unsolvable = Arrays.asList(2, 1, 3, 4, 5, 6, 7, 8, 0);
+		// the first rounds are slower, while the JIT compiler warms up
+		for (int round = 0; round < 10; round++) {
+			report("Searcher on EightPuzzle    ", new Searcher<List<Integer>>(new EightPuzzle(unsolvable)));
+			report("Searcher on PackedPuzzle   ", new Searcher<Long>(new PackedPuzzle(3, unsolvable)));
+			report("LongSearcher on PackedPuzzle", new LongSearcher(new PackedPuzzle(3, unsolvable), STATES));
+		}
+		for (int round = 0; round < 3; round++) {
+			walkList(new EightPuzzle(unsolvable));
+			walkPacked(new PackedPuzzle(3, unsolvable));
+		}
+	}
+
+	private static final int STEPS = 5000000;
+
+	private static void walkList(EightPuzzle puzzle) {
+		long begin = System.nanoTime();
+		List<Integer> state = puzzle.getInitialState();
+		for (int i = 0; i < STEPS; i++) {
+			List<List<Integer>> successors = puzzle.getSuccessors(state);
+			state = successors.get(i % successors.size());
+		}
+		double seconds = (System.nanoTime() - begin) / 1e9;
+		System.out.printf("EightPuzzle.getSuccessors:  %.0f expansions/sec (%s)%n", STEPS / seconds, state);
+	}
+
+	private static void walkPacked(PackedPuzzle puzzle) {
+		long begin = System.nanoTime();
+		long[] out = new long[4];
+		long state = puzzle.initialState();
+		for (int i = 0; i < STEPS; i++) {
+			int count = puzzle.successors(state, out);
+			state = out[i % count];
+		}
+		double seconds = (System.nanoTime() - begin) / 1e9;
+		System.out.printf("PackedPuzzle.successors:    %.0f expansions/sec (%s)%n", STEPS / seconds,
+				PackedPuzzle.unpack(state, 3));
+	}
+
+	private static void report(String name, Searcher<?> searcher) {
+		// collect the garbage of the previous search, so that it is not
+		// charged to this one
+		System.gc();
+		long begin = System.nanoTime();
+		searcher.findSolution();
+		double seconds = (System.nanoTime() - begin) / 1e9;
+		System.out.printf("%s: %.0f states/sec%n", name, STATES / seconds);
+	}
+}
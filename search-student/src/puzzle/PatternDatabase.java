@@ -0,0 +1,339 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package puzzle;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A pattern database for a square sliding-tile puzzle: for every placement
+ * of a chosen group of tiles, the fewest moves of those tiles needed to bring
+ * them all to their goal positions, while ignoring the values of the other
+ * tiles.
+ * 
+ * Only moves of the group's own tiles are counted, so the databases of
+ * several disjoint groups can be added together and still never overestimate
+ * the true distance (see Felner, Korf and Hanan, "Additive Pattern Database
+ * Heuristics", 2004).
+ * 
+ * A placement of the group's k tiles on the n spaces is indexed by its rank
+ * among the n! / (n - k)! such placements, and the database holds one byte
+ * per rank. Databases are built by a breadth-first search backwards from the
+ * goal, and can be saved to a file. A loaded database is a read-only mapping
+ * of that file, so several processes loading the same file share a single
+ * copy of it in the operating system's page cache.
+ * 
+ * @author liberato
+ *
+ */
+public class PatternDatabase {
+	private static final int MAGIC = 0x50444221; // "PDB!"
+	private static final int VERSION = 1;
+	private static final int UNVISITED = 0xFF;
+
+	private final int size;
+	private final int[] tiles;
+	private final ByteBuffer distances;
+	private final int offset;
+
+	private PatternDatabase(int size, int[] tiles, ByteBuffer distances, int offset) {
+		this.size = size;
+		this.tiles = tiles;
+		this.distances = distances;
+		this.offset = offset;
+	}
+
+	/**
+	 * Builds the pattern database for the given group of tiles.
+	 * 
+	 * @param size
+	 *            the number of rows (and of columns) in the puzzle
+	 * @param tiles
+	 *            the tiles in the group, each from 1 to (size * size - 1)
+	 * @return the pattern database
+	 * @throws IllegalArgumentException
+	 *             if the tiles are invalid, or if the search needed to build
+	 *             the database has too many states to index with an int
+	 */
+	public static PatternDatabase build(int size, int... tiles) {
+		final int cells = size * size;
+		checkTiles(cells, tiles);
+		final int k = tiles.length;
+		// the search also tracks the empty space, which is ranked last
+		final long searchStates = placements(cells, k + 1);
+		if (searchStates > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Pattern too large: " + searchStates + " states");
+		}
+		final byte[] searchDistances = new byte[(int) searchStates];
+		Arrays.fill(searchDistances, (byte) UNVISITED);
+
+		final int[] positions = new int[k + 1];
+		for (int i = 0; i < k; i++) {
+			positions[i] = tiles[i] - 1;
+		}
+		positions[k] = cells - 1;
+		final int goal = rank(positions, cells);
+		searchDistances[goal] = 0;
+
+		// a breadth-first search where moving the empty space into a cell
+		// outside the group is free, and moving a tile of the group costs one
+		IntQueue level = new IntQueue();
+		level.add(goal);
+		for (int distance = 0; !level.isEmpty(); distance++) {
+			final IntQueue nextLevel = new IntQueue();
+			for (int head = 0; head < level.size(); head++) {
+				final int current = level.get(head);
+				if ((searchDistances[current] & 0xFF) != distance) {
+					continue;
+				}
+				unrank(current, cells, positions);
+				final int empty = positions[k];
+				final int row = empty / size;
+				final int column = empty % size;
+				for (int move = 0; move < 4; move++) {
+					final int other;
+					if (move == 0 && column > 0) {
+						other = empty - 1;
+					} else if (move == 1 && column < size - 1) {
+						other = empty + 1;
+					} else if (move == 2 && row > 0) {
+						other = empty - size;
+					} else if (move == 3 && row < size - 1) {
+						other = empty + size;
+					} else {
+						continue;
+					}
+					int moved = -1;
+					for (int i = 0; i < k; i++) {
+						if (positions[i] == other) {
+							moved = i;
+						}
+					}
+					if (moved >= 0) {
+						positions[moved] = empty;
+					}
+					positions[k] = other;
+					final int next = rank(positions, cells);
+					final int cost = moved >= 0 ? distance + 1 : distance;
+					if ((searchDistances[next] & 0xFF) > cost) {
+						searchDistances[next] = (byte) cost;
+						(moved >= 0 ? nextLevel : level).add(next);
+					}
+					positions[k] = empty;
+					if (moved >= 0) {
+						positions[moved] = other;
+					}
+				}
+			}
+			level = nextLevel;
+		}
+
+		// the rank of the group's placement is the search rank without its
+		// last digit, the position of the empty space
+		final byte[] result = new byte[(int) placements(cells, k)];
+		Arrays.fill(result, (byte) UNVISITED);
+		final int emptyChoices = cells - k;
+		for (int i = 0; i < searchDistances.length; i++) {
+			final int index = i / emptyChoices;
+			if ((searchDistances[i] & 0xFF) < (result[index] & 0xFF)) {
+				result[index] = searchDistances[i];
+			}
+		}
+		return new PatternDatabase(size, tiles.clone(), ByteBuffer.wrap(result), 0);
+	}
+
+	/**
+	 * Maps a pattern database previously written by save().
+	 * 
+	 * @param file
+	 * @return the pattern database
+	 * @throws IOException
+	 *             if the file cannot be read or is not a saved database
+	 */
+	public static PatternDatabase load(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (mapped.remaining() < 16 || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+				throw new IOException("Not a pattern database: " + file);
+			}
+			final int size = mapped.getInt(8);
+			final int[] tiles = new int[mapped.getInt(12)];
+			for (int i = 0; i < tiles.length; i++) {
+				tiles[i] = mapped.getInt(16 + 4 * i);
+			}
+			final int offset = 16 + 4 * tiles.length;
+			if (mapped.capacity() - offset != placements(size * size, tiles.length)) {
+				throw new IOException("Truncated pattern database: " + file);
+			}
+			return new PatternDatabase(size, tiles, mapped, offset);
+		}
+	}
+
+	/**
+	 * Writes this pattern database to the given file.
+	 * 
+	 * @param file
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public void save(File file) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(size);
+			out.writeInt(tiles.length);
+			for (int tile : tiles) {
+				out.writeInt(tile);
+			}
+			for (int i = offset; i < distances.capacity(); i++) {
+				out.write(distances.get(i));
+			}
+		}
+	}
+
+	/**
+	 * @return the number of rows (and of columns) in the puzzle
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * @return the tiles in this database's group
+	 */
+	public int[] getTiles() {
+		return tiles.clone();
+	}
+
+	/**
+	 * Returns the number of moves of this group's tiles needed to bring them
+	 * to their goal positions.
+	 * 
+	 * @param tilePositions
+	 *            the index of every tile in the puzzle, indexed by tile value
+	 * @return a lower bound on the number of moves to solve the puzzle
+	 */
+	public int distance(int[] tilePositions) {
+		final int cells = size * size;
+		int rank = 0;
+		int used = 0;
+		for (int i = 0; i < tiles.length; i++) {
+			final int position = tilePositions[tiles[i]];
+			rank = rank * (cells - i) + Integer.bitCount(~used & ((1 << position) - 1));
+			used |= 1 << position;
+		}
+		return distances.get(offset + rank) & 0xFF;
+	}
+
+	/**
+	 * Returns the number of moves of this group's tiles needed to bring them
+	 * to their goal positions, without allocating.
+	 * 
+	 * @param tilePositions
+	 *            the index of every tile in a puzzle of at most 16 cells,
+	 *            packed four bits per tile: bits 4t to 4t + 3 hold the index
+	 *            of tile t
+	 * @return a lower bound on the number of moves to solve the puzzle
+	 */
+	public int distance(long tilePositions) {
+		final int cells = size * size;
+		int rank = 0;
+		int used = 0;
+		for (int i = 0; i < tiles.length; i++) {
+			final int position = (int) (tilePositions >>> (4 * tiles[i])) & 0xF;
+			rank = rank * (cells - i) + Integer.bitCount(~used & ((1 << position) - 1));
+			used |= 1 << position;
+		}
+		return distances.get(offset + rank) & 0xFF;
+	}
+
+	private static void checkTiles(int cells, int[] tiles) {
+		if (cells > 31 || tiles.length == 0) {
+			throw new IllegalArgumentException();
+		}
+		int seen = 0;
+		for (int tile : tiles) {
+			if (tile < 1 || tile >= cells || (seen & (1 << tile)) != 0) {
+				throw new IllegalArgumentException("Invalid tile: " + tile);
+			}
+			seen |= 1 << tile;
+		}
+	}
+
+	/**
+	 * @return the number of ways to place k distinct items on n cells
+	 */
+	static long placements(int n, int k) {
+		long result = 1;
+		for (int i = 0; i < k; i++) {
+			result *= n - i;
+		}
+		return result;
+	}
+
+	/**
+	 * Ranks a placement of distinct positions, each from 0 to cells - 1, as a
+	 * mixed-radix number whose ith digit is the number of still-unused cells
+	 * before the ith position.
+	 */
+	private static int rank(int[] positions, int cells) {
+		int rank = 0;
+		int used = 0;
+		for (int i = 0; i < positions.length; i++) {
+			rank = rank * (cells - i) + Integer.bitCount(~used & ((1 << positions[i]) - 1));
+			used |= 1 << positions[i];
+		}
+		return rank;
+	}
+
+	private static void unrank(int rank, int cells, int[] positions) {
+		for (int i = positions.length - 1; i >= 0; i--) {
+			positions[i] = rank % (cells - i);
+			rank /= cells - i;
+		}
+		int used = 0;
+		for (int i = 0; i < positions.length; i++) {
+			// the ith position is the (digit)th cell not yet used
+			int skip = positions[i];
+			for (int cell = 0; cell < cells; cell++) {
+				if ((used & (1 << cell)) == 0 && skip-- == 0) {
+					positions[i] = cell;
+					used |= 1 << cell;
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * A growable queue of ints, without boxing.
+	 */
+	private static class IntQueue {
+		private int[] items = new int[1024];
+		private int size;
+
+		void add(int item) {
+			if (size == items.length) {
+				items = Arrays.copyOf(items, 2 * size);
+			}
+			items[size++] = item;
+		}
+
+		int get(int index) {
+			return items[index];
+		}
+
+		int size() {
+			return size;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package puzzle;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import search.IterativeDeepeningAStarSearcher;
+
+/**
+ * Builds a 5-5-5 additive pattern database for the 15-puzzle, reports the
+ * build time and lookup throughput, and compares IDA* with the pattern
+ * databases against IDA* with Manhattan distance on random instances.
+ * 
+ * Usage: PatternDatabaseDriver [directory] [instances]
+ * 
+ * Database files already present in the directory are loaded instead of
+ * being rebuilt.
+ */
+public class PatternDatabaseDriver {
+	private static final int[][] GROUPS = { { 1, 2, 3, 5, 6 }, { 4, 7, 8, 11, 12 }, { 9, 10, 13, 14, 15 } };
+
+	public static void main(String[] args) throws IOException {
+		File directory = new File(args.length > 0 ? args[0] : ".");
+		int instances = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		List<PatternDatabase> databases = new ArrayList<>();
+		for (int[] group : GROUPS) {
+			StringBuilder name = new StringBuilder("fifteen");
+			for (int tile : group) {
+				name.append("-").append(tile);
+			}
+			File file = new File(directory, name.append(".pdb").toString());
+			if (!file.exists()) {
+				long begin = System.nanoTime();
+				PatternDatabase.build(4, group).save(file);
+				System.out.printf("built %s in %.1f ms%n", file, (System.nanoTime() - begin) / 1e6);
+			}
+			databases.add(PatternDatabase.load(file));
+		}
+
+		PatternDatabasePuzzle lookups = new PatternDatabasePuzzle(4, SlidingPuzzle.scramble(4, 0, 0), databases);
+		long[] states = new long[1 << 16];
+		for (int i = 0; i < states.length; i++) {
+			states[i] = PackedPuzzle.pack(SlidingPuzzle.scramble(4, 100, i));
+		}
+		for (int round = 0; round < 3; round++) {
+			long sum = 0;
+			long begin = System.nanoTime();
+			for (int repeat = 0; repeat < 16; repeat++) {
+				for (long state : states) {
+					sum += lookups.estimateDistanceToGoal(state);
+				}
+			}
+			double seconds = (System.nanoTime() - begin) / 1e9;
+			System.out.printf("%.0f estimates/sec (checksum %d)%n", 16 * states.length / seconds, sum);
+		}
+
+		for (int seed = 0; seed < instances; seed++) {
+			List<Integer> start = SlidingPuzzle.scramble(4, 1000, seed);
+			report("manhattan", new PackedPuzzle(4, start));
+			report("pdb 5-5-5", new PatternDatabasePuzzle(4, start, databases));
+		}
+	}
+
+	private static void report(String name, PackedPuzzle puzzle) {
+		IterativeDeepeningAStarSearcher<Long> searcher = new IterativeDeepeningAStarSearcher<Long>(puzzle);
+		long begin = System.nanoTime();
+		int moves = searcher.findSolution().size() - 1;
+		double millis = (System.nanoTime() - begin) / 1e6;
+		long expanded = 0;
+		for (IterativeDeepeningAStarSearcher.Iteration iteration : searcher.getIterations()) {
+			expanded += iteration.expandedCount;
+		}
+		System.out.printf("%s: %d moves, %d expanded, %.1f ms%n", name, moves, expanded, millis);
+	}
+}
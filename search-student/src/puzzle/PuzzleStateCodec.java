@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package puzzle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import search.StateCodec;
+
+/**
+ * Encodes a sliding-tile puzzle state, such as those of EightPuzzle and
+ * SlidingPuzzle, as one byte per space.
+ * 
+ * @author liberato
+ *
+ */
+public class PuzzleStateCodec implements StateCodec<List<Integer>> {
+	private final int cells;
+
+	/**
+	 * @param cells
+	 *            the number of spaces in the puzzle, at most 256
+	 */
+	public PuzzleStateCodec(int cells) {
+		if (cells < 1 || cells > 256) {
+			throw new IllegalArgumentException();
+		}
+		this.cells = cells;
+	}
+
+	@Override
+	public int width() {
+		return cells;
+	}
+
+	@Override
+	public void encode(List<Integer> state, byte[] bytes, int offset) {
+		for (int i = 0; i < cells; i++) {
+			bytes[offset + i] = (byte) (int) state.get(i);
+		}
+	}
+
+	@Override
+	public List<Integer> decode(byte[] bytes, int offset) {
+		List<Integer> state = new ArrayList<>(cells);
+		for (int i = 0; i < cells; i++) {
+			state.add(bytes[offset + i] & 0xFF);
+		}
+		return state;
+	}
+}
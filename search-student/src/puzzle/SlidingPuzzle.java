@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package puzzle;
+
+import java.util.*;
+
+import search.HeuristicSearchProblem;
+import search.IterativeDeepeningAStarSearcher;
+import search.ReversibleSearchProblem;
+
+/**
+ * A class to represent an instance of a square sliding-tile puzzle of any
+ * size, such as the 15-puzzle (size 4). It generalizes EightPuzzle, which is
+ * the puzzle of size 3.
+ * 
+ * The spaces are indexed row by row, starting from 0 in the top left corner.
+ * The puzzle contains the numbers 1 to (size * size - 1) and an empty space,
+ * represented as 0. It is solved when each numbered tile t is at index t - 1
+ * and the empty space is in the bottom right corner.
+ * 
+ * From any given state, you can swap the empty space with a space adjacent to
+ * it (that is, above, below, left, or right of it, without wrapping around).
+ * 
+ * @author liberato
+ *
+ */
+public class SlidingPuzzle implements HeuristicSearchProblem<List<Integer>>,
+		ReversibleSearchProblem<List<Integer>> {
+	private final int size;
+	private final List<Integer> initialState;
+	private final List<Integer> goalState;
+
+	/**
+	 * Creates a new instance of the puzzle with the given starting values.
+	 * 
+	 * @param size
+	 *            the number of rows (and of columns) in the puzzle
+	 * @param startingValues
+	 *            the starting values, 0 -- (size * size - 1), indexed as
+	 *            described above
+	 * @throws IllegalArgumentException
+	 *             if size or startingValues is invalid
+	 */
+	public SlidingPuzzle(int size, List<Integer> startingValues) throws IllegalArgumentException {
+		if (size < 2) {
+			throw new IllegalArgumentException();
+		}
+		this.size = size;
+		goalState = Collections.unmodifiableList(goalValues(size));
+		if (startingValues.size() != size * size || !startingValues.containsAll(goalState)) {
+			throw new IllegalArgumentException();
+		}
+		initialState = new ArrayList<>(startingValues);
+	}
+
+	/**
+	 * @return the number of rows (and of columns) in this puzzle
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	@Override
+	public List<Integer> getInitialState() {
+		return initialState;
+	}
+
+	@Override
+	public List<List<Integer>> getSuccessors(List<Integer> currentState) {
+		List<List<Integer>> successors = new ArrayList<>(4);
+		int emptySpace = currentState.indexOf(0);
+		int row = emptySpace / size;
+		int column = emptySpace % size;
+		if (column > 0) {
+			successors.add(swap(currentState, emptySpace, emptySpace - 1));
+		}
+		if (column < size - 1) {
+			successors.add(swap(currentState, emptySpace, emptySpace + 1));
+		}
+		if (row > 0) {
+			successors.add(swap(currentState, emptySpace, emptySpace - size));
+		}
+		if (row < size - 1) {
+			successors.add(swap(currentState, emptySpace, emptySpace + size));
+		}
+		return successors;
+	}
+
+	private static List<Integer> swap(List<Integer> state, int emptySpace, int other) {
+		List<Integer> copyList = new ArrayList<>(state);
+		copyList.set(emptySpace, state.get(other));
+		copyList.set(other, 0);
+		return copyList;
+	}
+
+	@Override
+	public boolean isGoal(List<Integer> state) {
+		return goalState.equals(state);
+	}
+
+	@Override
+	public List<List<Integer>> getGoalStates() {
+		return Collections.singletonList(goalState);
+	}
+
+	@Override
+	public List<List<Integer>> getPredecessors(List<Integer> currentState) {
+		return getSuccessors(currentState);
+	}
+
+	/**
+	 * Returns the sum, over the numbered tiles, of the horizontal plus
+	 * vertical distance between each tile and its position in the goal state,
+	 * or Integer.MAX_VALUE if the state is unsolvable.
+	 */
+	@Override
+	public int estimateDistanceToGoal(List<Integer> state) {
+		if (!isSolvable(size, state)) {
+			return Integer.MAX_VALUE;
+		}
+		int distance = 0;
+		for (int i = 0; i < size * size; i++) {
+			int value = state.get(i);
+			if (value != 0) {
+				int goalIndex = value - 1;
+				distance += Math.abs(i / size - goalIndex / size) + Math.abs(i % size - goalIndex % size);
+			}
+		}
+		return distance;
+	}
+
+	/**
+	 * Returns whether the goal can be reached from a state of the puzzle of
+	 * the given size.
+	 * 
+	 * Read the state as a permutation taking each space to the goal position
+	 * of the value in it (the bottom right corner, for the empty space). Each
+	 * move swaps the empty space with a neighbor, which flips both the parity
+	 * of the permutation and the parity of the empty space's distance from
+	 * its goal position. Those two parities agree at the goal, so they agree
+	 * exactly in the states from which it can be reached.
+	 * 
+	 * @param size
+	 *            the number of rows (and of columns) in the puzzle
+	 * @param state
+	 *            a valid state of the puzzle
+	 * @return true iff the goal can be reached from state
+	 */
+	public static boolean isSolvable(int size, List<Integer> state) {
+		final int cells = size * size;
+		final boolean[] seen = new boolean[cells];
+		int cycles = 0;
+		for (int i = 0; i < cells; i++) {
+			if (!seen[i]) {
+				cycles++;
+				for (int j = i; !seen[j]; j = goalIndex(state.get(j), cells)) {
+					seen[j] = true;
+				}
+			}
+		}
+		final int empty = state.indexOf(0);
+		final int emptyDistance = (size - 1 - empty / size) + (size - 1 - empty % size);
+		return (cells - cycles) % 2 == emptyDistance % 2;
+	}
+
+	private static int goalIndex(int value, int cells) {
+		return value == 0 ? cells - 1 : value - 1;
+	}
+
+	/**
+	 * Returns a solvable state of the puzzle of the given size, made by
+	 * starting from the goal and making the given number of random moves.
+	 * 
+	 * @param size
+	 * @param moves
+	 * @param seed
+	 * @return a scrambled puzzle state
+	 */
+	public static List<Integer> scramble(int size, int moves, long seed) {
+		Random random = new Random(seed);
+		SlidingPuzzle solved = new SlidingPuzzle(size, goalValues(size));
+		List<Integer> state = solved.getInitialState();
+		for (int i = 0; i < moves; i++) {
+			List<List<Integer>> successors = solved.getSuccessors(state);
+			state = successors.get(random.nextInt(successors.size()));
+		}
+		return state;
+	}
+
+	private static List<Integer> goalValues(int size) {
+		List<Integer> values = new ArrayList<>();
+		for (int i = 1; i < size * size; i++) {
+			values.add(i);
+		}
+		values.add(0);
+		return values;
+	}
+
+	public static void main(String[] args) {
+		SlidingPuzzle puzzle = new SlidingPuzzle(4, scramble(4, 200, 0));
+		IterativeDeepeningAStarSearcher<List<Integer>> searcher = new IterativeDeepeningAStarSearcher<>(puzzle);
+		List<List<Integer>> solution = searcher.findSolution();
+		for (IterativeDeepeningAStarSearcher.Iteration iteration : searcher.getIterations()) {
+			System.out.println(iteration);
+		}
+		System.out.println(puzzle.getInitialState());
+		System.out.println(solution.size() + " states in solution");
+	}
+}
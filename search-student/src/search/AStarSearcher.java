@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.*;
+
+/**
+ * An implementation of a Searcher that performs an A* search, storing the
+ * open states in a binary heap ordered by the number of moves taken so far
+ * plus the problem's estimate of the moves remaining.
+ * 
+ * As long as the problem's estimate is admissible and consistent, the
+ * solution found is a shortest one, and so has the same length as the one
+ * found by a breadth-first search.
+ * 
+ * @author liberato
+ *
+ * @param <T> the type for each vertex in the search graph
+ */
+public class AStarSearcher<T> extends Searcher<T> {
+	private final HeuristicSearchProblem<T> searchProblem;
+	private volatile int expandedCount;
+
+	/**
+	 * Instantiates a searcher.
+	 * 
+	 * @param searchProblem
+	 *            the search problem for which this searcher will find and
+	 *            validate solutions
+	 */
+	public AStarSearcher(HeuristicSearchProblem<T> searchProblem) {
+		super(searchProblem);
+		this.searchProblem = searchProblem;
+	}
+
+	/**
+	 * Finds and return a shortest solution to the problem from the given
+	 * state, consisting of a list of states.
+	 * 
+	 * If there is no solution, then this method returns an empty list.
+	 * 
+	 * @param initialState
+	 *            the state from which to search
+	 * @return a solution from initialState (or an empty list)
+	 */
+	@Override
+	public List<T> findSolutionFrom(T initialState) {
+		final PriorityQueue<Node<T>> open = new PriorityQueue<>();
+		final Map<T, Integer> bestCost = new HashMap<>();
+		final Map<T, T> predState = new HashMap<>();
+		final Set<T> closed = new HashSet<>();
+
+		open.add(new Node<>(initialState, 0, priority(0, searchProblem.estimateDistanceToGoal(initialState))));
+		bestCost.put(initialState, 0);
+		predState.put(initialState, null);
+
+		int expanded = 0;
+		while (!open.isEmpty()) {
+			final Node<T> current = open.remove();
+			// the heap may hold stale entries for states later reached more cheaply
+			if (current.cost > bestCost.get(current.state) || !closed.add(current.state)) {
+				continue;
+			}
+			if (searchProblem.isGoal(current.state)) {
+				expandedCount = expanded;
+				return buildPath(predState, current.state);
+			}
+			expanded++;
+			final int nextCost = current.cost + 1;
+			for (T nextState : searchProblem.getSuccessors(current.state)) {
+				final Integer knownCost = bestCost.get(nextState);
+				if (knownCost == null || nextCost < knownCost) {
+					bestCost.put(nextState, nextCost);
+					predState.put(nextState, current.state);
+					closed.remove(nextState);
+					open.add(new Node<>(nextState, nextCost,
+							priority(nextCost, searchProblem.estimateDistanceToGoal(nextState))));
+				}
+			}
+		}
+		expandedCount = expanded;
+		return new ArrayList<>();
+	}
+
+	/**
+	 * Returns the cost so far plus the estimate of the cost remaining. An
+	 * estimate of Integer.MAX_VALUE means no goal can be reached, so the sum
+	 * saturates there rather than overflowing to a negative priority.
+	 */
+	private static int priority(int cost, int estimate) {
+		return (int) Math.min(Integer.MAX_VALUE, (long) cost + estimate);
+	}
+
+	/**
+	 * @return the number of states expanded by the most recent search; if
+	 *         several searches run at once, by whichever finished last
+	 */
+	public int getExpandedCount() {
+		return expandedCount;
+	}
+
+	private static class Node<T> implements Comparable<Node<T>> {
+		final T state;
+		final int cost;
+		final int estimate;
+
+		Node(T state, int cost, int estimate) {
+			this.state = state;
+			this.cost = cost;
+			this.estimate = estimate;
+		}
+
+		@Override
+		public int compareTo(Node<T> other) {
+			final int cmp = Integer.compare(estimate, other.estimate);
+			if (cmp != 0) {
+				return cmp;
+			}
+			// among equal estimates, prefer the deeper state; it is closer to a goal
+			return Integer.compare(other.cost, cost);
+		}
+	}
+}
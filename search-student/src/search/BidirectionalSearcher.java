@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.*;
+
+/**
+ * An implementation of a Searcher that performs two breadth-first searches
+ * at once: one forwards from the initial state, and one backwards from the
+ * goal states. Each step expands one whole level of whichever frontier is
+ * smaller, and the search ends once the two have met.
+ * 
+ * For a problem with branching factor b and a solution of depth d, each side
+ * only has to reach a depth of about d/2, so roughly b^(d/2) states are
+ * expanded instead of b^d.
+ * 
+ * @author liberato
+ *
+ * @param <T> the type for each vertex in the search graph
+ */
+public class BidirectionalSearcher<T> extends Searcher<T> {
+	private final ReversibleSearchProblem<T> searchProblem;
+	private volatile int expandedCount;
+
+	/**
+	 * Instantiates a searcher.
+	 * 
+	 * @param searchProblem
+	 *            the search problem for which this searcher will find and
+	 *            validate solutions
+	 */
+	public BidirectionalSearcher(ReversibleSearchProblem<T> searchProblem) {
+		super(searchProblem);
+		this.searchProblem = searchProblem;
+	}
+
+	/**
+	 * Finds and return a shortest solution to the problem from the given
+	 * state, consisting of a list of states.
+	 * 
+	 * If there is no solution, then this method returns an empty list.
+	 * 
+	 * @param initialState
+	 *            the state from which to search
+	 * @return a solution from initialState (or an empty list)
+	 */
+	@Override
+	public List<T> findSolutionFrom(T initialState) {
+		if (searchProblem.isGoal(initialState)) {
+			expandedCount = 0;
+			return new ArrayList<>(Collections.singletonList(initialState));
+		}
+
+		// predState maps each forward state to the state it was reached from;
+		// nextState maps each backward state to the state it leads to
+		final Map<T, T> predState = new HashMap<>();
+		final Map<T, Integer> forwardDepth = new HashMap<>();
+		List<T> forwardFrontier = new ArrayList<>();
+		predState.put(initialState, null);
+		forwardDepth.put(initialState, 0);
+		forwardFrontier.add(initialState);
+
+		final Map<T, T> nextState = new HashMap<>();
+		final Map<T, Integer> backwardDepth = new HashMap<>();
+		List<T> backwardFrontier = new ArrayList<>();
+		for (T goal : searchProblem.getGoalStates()) {
+			if (!nextState.containsKey(goal)) {
+				nextState.put(goal, null);
+				backwardDepth.put(goal, 0);
+				backwardFrontier.add(goal);
+			}
+		}
+
+		int expanded = 0;
+		T meeting = null;
+		int bestLength = Integer.MAX_VALUE;
+		while (meeting == null && !forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()) {
+			final List<T> next = new ArrayList<>();
+			if (forwardFrontier.size() <= backwardFrontier.size()) {
+				for (T state : forwardFrontier) {
+					expanded++;
+					final int depth = forwardDepth.get(state) + 1;
+					for (T successor : searchProblem.getSuccessors(state)) {
+						if (!predState.containsKey(successor)) {
+							predState.put(successor, state);
+							forwardDepth.put(successor, depth);
+							next.add(successor);
+							final Integer remaining = backwardDepth.get(successor);
+							if (remaining != null && depth + remaining < bestLength) {
+								bestLength = depth + remaining;
+								meeting = successor;
+							}
+						}
+					}
+				}
+				forwardFrontier = next;
+			} else {
+				for (T state : backwardFrontier) {
+					expanded++;
+					final int depth = backwardDepth.get(state) + 1;
+					for (T predecessor : searchProblem.getPredecessors(state)) {
+						if (!nextState.containsKey(predecessor)) {
+							nextState.put(predecessor, state);
+							backwardDepth.put(predecessor, depth);
+							next.add(predecessor);
+							final Integer travelled = forwardDepth.get(predecessor);
+							if (travelled != null && depth + travelled < bestLength) {
+								bestLength = depth + travelled;
+								meeting = predecessor;
+							}
+						}
+					}
+				}
+				backwardFrontier = next;
+			}
+		}
+		expandedCount = expanded;
+		if (meeting == null) {
+			return new ArrayList<>();
+		}
+
+		final List<T> solutionPath = buildPath(predState, meeting);
+		for (T state = nextState.get(meeting); state != null; state = nextState.get(state)) {
+			solutionPath.add(state);
+		}
+		return solutionPath;
+	}
+
+	/**
+	 * @return the number of states expanded by the most recent search; if
+	 *         several searches run at once, by whichever finished last
+	 */
+	public int getExpandedCount() {
+		return expandedCount;
+	}
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import graphs.EdgeListener;
+import graphs.IntIterator;
+import mazes.Cell;
+import mazes.Maze;
+
+/**
+ * A breadth-first Searcher for mazes that works on 64 cells at a time. The
+ * maze's passages are copied into row-major bitmaps, one bit per cell, and
+ * each level of the search is found from the last with shifts and masks on
+ * whole words of the frontier, rather than cell by cell. Only words that
+ * hold part of the frontier are visited, so thin frontiers (as in mazes)
+ * cost little.
+ * 
+ * The level of each reached cell is kept modulo 3, in two bitmaps; as
+ * adjacent cells differ in level by at most one, that is enough to walk back
+ * from a goal to the start along a shortest path.
+ * 
+ * The bitmaps are a copy: register the searcher with the maze
+ * (maze.addEdgeListener(searcher)) to keep them up to date as passages open.
+ * Searches, which may run at once through solveAll(), share a read lock on
+ * the bitmaps, and an added passage waits for the write lock, so each
+ * search sees the passages as they were when it began.
+ * 
+ * @author liberato
+ *
+ */
+public class BitParallelSearcher extends Searcher<Cell> implements EdgeListener<Cell> {
+	private final Maze maze;
+	private final int width;
+	private final int height;
+	private final int wordsPerRow;
+	// bit x of row y: a passage from (x, y) to (x + 1, y), or to (x, y + 1)
+	private final long[] east;
+	private final long[] south;
+	private final long[] goals;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private volatile int levelCount;
+
+	/**
+	 * Instantiates a searcher, copying the maze's passages.
+	 * 
+	 * @param maze
+	 *            the maze for which this searcher will find and validate
+	 *            solutions
+	 */
+	public BitParallelSearcher(Maze maze) {
+		super(maze);
+		this.maze = maze;
+		width = maze.getWidth();
+		height = maze.getHeight();
+		wordsPerRow = (width + 63) >>> 6;
+		east = new long[height * wordsPerRow];
+		south = new long[height * wordsPerRow];
+		goals = new long[height * wordsPerRow];
+		for (int index = 0; index < maze.stateCount(); index++) {
+			for (IntIterator it = maze.successorIndices(index); it.hasNext();) {
+				addPassage(index, it.nextInt());
+			}
+		}
+		for (Cell goal : maze.getGoalStates()) {
+			set(goals, goal.posX, goal.posY);
+		}
+	}
+
+	@Override
+	public void edgeAdded(Cell fromVertex, Cell toVertex) {
+		final int from = maze.indexOf(fromVertex);
+		final int to = maze.indexOf(toVertex);
+		lock.writeLock().lock();
+		try {
+			addPassage(from, to);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void addPassage(int from, int to) {
+		final int low = Math.min(from, to);
+		final int x = low / height;
+		final int y = low % height;
+		if (Math.abs(to - from) == height) {
+			set(east, x, y);
+		} else {
+			set(south, x, y);
+		}
+	}
+
+	/**
+	 * Finds and return a shortest solution from the given cell.
+	 * 
+	 * If there is no solution, then this method returns an empty list.
+	 * 
+	 * @return a solution to the problem (or an empty list)
+	 */
+	@Override
+	public List<Cell> findSolutionFrom(Cell initialState) {
+		lock.readLock().lock();
+		try {
+			final Wavefront wavefront = new Wavefront(initialState);
+			while (wavefront.goal < 0 && wavefront.advance()) {
+			}
+			levelCount = wavefront.level + 1;
+			if (wavefront.goal < 0) {
+				return new ArrayList<>();
+			}
+			return wavefront.pathTo(wavefront.goal);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Runs the search from the given cell until every reachable cell has been
+	 * reached, ignoring the goals.
+	 * 
+	 * @param initialState
+	 * @return the number of cells reachable from initialState
+	 */
+	public long floodFill(Cell initialState) {
+		lock.readLock().lock();
+		try {
+			final Wavefront wavefront = new Wavefront(initialState);
+			long reached = 1;
+			while (wavefront.advance()) {
+				reached += wavefront.frontierCount();
+			}
+			levelCount = wavefront.level + 1;
+			return reached;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return the number of levels (including the start's) reached by the
+	 *         most recent search or flood fill; if several run at once, by
+	 *         whichever finished last
+	 */
+	public int getLevelCount() {
+		return levelCount;
+	}
+
+	/**
+	 * The state of one search: the frontier, as a bitmap and a list of its
+	 * non-zero words, and the level modulo 3 of every reached cell, as a
+	 * two-bit code split across the bitmaps low and high: (1, 0) for 0,
+	 * (0, 1) for 1 and (1, 1) for 2. Unreached cells are (0, 0).
+	 */
+	private class Wavefront {
+		long[] frontier = new long[east.length];
+		long[] next = new long[east.length];
+		int[] frontierWords = new int[east.length];
+		int[] nextWords = new int[east.length];
+		int frontierSize;
+		int nextSize;
+		final long[] low = new long[east.length];
+		final long[] high = new long[east.length];
+		int level;
+		// the word and bit of a goal reached at the current level, or -1
+		int goal = -1;
+
+		Wavefront(Cell start) {
+			maze.indexOf(start);
+			final int word = start.posY * wordsPerRow + (start.posX >>> 6);
+			final long bit = 1L << start.posX;
+			frontier[word] = bit;
+			frontierWords[frontierSize++] = word;
+			low[word] = bit;
+			checkGoal(word);
+		}
+
+		/**
+		 * Moves the frontier on one level.
+		 * 
+		 * @return false iff no new cells were reached
+		 */
+		boolean advance() {
+			for (int i = 0; i < frontierSize; i++) {
+				final int word = frontierWords[i];
+				final long cells = frontier[word];
+				final int column = word % wordsPerRow;
+				// east and west within the word, carrying across word borders
+				final long movingEast = cells & east[word];
+				add(word, movingEast << 1);
+				if (column < wordsPerRow - 1) {
+					add(word + 1, movingEast >>> 63);
+				}
+				add(word, (cells >>> 1) & east[word]);
+				if (column > 0) {
+					add(word - 1, (cells << 63) & east[word - 1]);
+				}
+				// south and north, a whole row apart
+				if (word + wordsPerRow < east.length) {
+					add(word + wordsPerRow, cells & south[word]);
+				}
+				if (word >= wordsPerRow) {
+					add(word - wordsPerRow, cells & south[word - wordsPerRow]);
+				}
+			}
+
+			for (int i = 0; i < frontierSize; i++) {
+				frontier[frontierWords[i]] = 0;
+			}
+			if (nextSize == 0) {
+				frontierSize = 0;
+				return false;
+			}
+			level++;
+			final int code = level % 3;
+			for (int i = 0; i < nextSize; i++) {
+				final int word = nextWords[i];
+				if (code != 1) {
+					low[word] |= next[word];
+				}
+				if (code != 0) {
+					high[word] |= next[word];
+				}
+			}
+			final long[] swap = frontier;
+			frontier = next;
+			next = swap;
+			final int[] swapWords = frontierWords;
+			frontierWords = nextWords;
+			nextWords = swapWords;
+			frontierSize = nextSize;
+			nextSize = 0;
+			for (int i = 0; i < frontierSize && goal < 0; i++) {
+				checkGoal(frontierWords[i]);
+			}
+			return true;
+		}
+
+		long frontierCount() {
+			long count = 0;
+			for (int i = 0; i < frontierSize; i++) {
+				count += Long.bitCount(frontier[frontierWords[i]]);
+			}
+			return count;
+		}
+
+		private void add(int word, long cells) {
+			cells &= ~(low[word] | high[word]);
+			if (cells != 0) {
+				if (next[word] == 0) {
+					nextWords[nextSize++] = word;
+				}
+				next[word] |= cells;
+			}
+		}
+
+		private void checkGoal(int word) {
+			final long reached = frontier[word] & goals[word];
+			if (reached != 0) {
+				goal = word * 64 + Long.numberOfTrailingZeros(reached);
+			}
+		}
+
+		/*
+		 * Walks back from a cell on the current level, at each step to a
+		 * neighbor one level lower. A finished search leaves every reached cell
+		 * such a neighbor, so a cell without one means the bitmaps were
+		 * changed under the search, and throws IllegalStateException.
+		 */
+		List<Cell> pathTo(int bitIndex) {
+			final List<Cell> path = new ArrayList<>(level + 1);
+			int x = (bitIndex % (wordsPerRow * 64));
+			int y = bitIndex / (wordsPerRow * 64);
+			path.add(new Cell(x, y));
+			for (int l = level - 1; l >= 0; l--) {
+				final int code = l % 3;
+				if (x < width - 1 && get(east, x, y) && code(x + 1, y) == code) {
+					x++;
+				} else if (x > 0 && get(east, x - 1, y) && code(x - 1, y) == code) {
+					x--;
+				} else if (y < height - 1 && get(south, x, y) && code(x, y + 1) == code) {
+					y++;
+				} else if (y > 0 && get(south, x, y - 1) && code(x, y - 1) == code) {
+					y--;
+				} else {
+					throw new IllegalStateException("No step back from (" + x + ", " + y + ") at level " + (l + 1));
+				}
+				path.add(new Cell(x, y));
+			}
+			Collections.reverse(path);
+			return path;
+		}
+
+		private int code(int x, int y) {
+			final boolean lowBit = get(low, x, y);
+			final boolean highBit = get(high, x, y);
+			return !highBit ? (lowBit ? 0 : -1) : lowBit ? 2 : 1;
+		}
+	}
+
+	private void set(long[] bitmap, int x, int y) {
+		bitmap[y * wordsPerRow + (x >>> 6)] |= 1L << x;
+	}
+
+	private boolean get(long[] bitmap, int x, int y) {
+		return (bitmap[y * wordsPerRow + (x >>> 6)] & (1L << x)) != 0;
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import mazes.Cell;
+import mazes.DistanceField;
+import mazes.Maze;
+import mazes.MazeGenerator;
+
+/**
+ * Times a full breadth-first flood of a maze, from its start to every
+ * reachable cell, three ways: with Searcher (which keeps a HashMap entry per
+ * Cell), with an int-array breadth-first search (building a DistanceField,
+ * which floods from the goals rather than the start), and with
+ * BitParallelSearcher. This is done for a DFS maze, whose frontier is thin,
+ * and for the same grid with every wall open, whose frontier is wide.
+ * 
+ * Usage: BitParallelSearcherDriver [side]
+ */
+public class BitParallelSearcherDriver {
+	public static void main(String[] args) {
+		final int side = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		final Maze maze = MazeGenerator.withGridGraph(side, side, 0).generateTiled(64);
+		run("DFS maze", maze);
+		for (int x = 0; x < side; x++) {
+			for (int y = 0; y < side; y++) {
+				if (x < side - 1) {
+					maze.openPassage(new Cell(x, y), new Cell(x + 1, y));
+				}
+				if (y < side - 1) {
+					maze.openPassage(new Cell(x, y), new Cell(x, y + 1));
+				}
+			}
+		}
+		run("open grid", maze);
+	}
+
+	private static void run(String name, Maze maze) {
+		// a view of the maze with no goals, so that a Searcher floods all of it
+		final SearchProblem<Cell> flood = new SearchProblem<Cell>() {
+			public Cell getInitialState() {
+				return maze.getInitialState();
+			}
+
+			public List<Cell> getSuccessors(Cell currentState) {
+				return maze.getSuccessors(currentState);
+			}
+
+			public void forEachSuccessor(Cell currentState, Consumer<? super Cell> sink) {
+				maze.forEachSuccessor(currentState, sink);
+			}
+
+			public boolean isGoal(Cell state) {
+				return false;
+			}
+		};
+		final BitParallelSearcher bits = new BitParallelSearcher(maze);
+		// warm up
+		for (int i = 0; i < 3; i++) {
+			bits.floodFill(maze.getInitialState());
+			new DistanceField(maze);
+		}
+
+		long begin = System.nanoTime();
+		new Searcher<Cell>(flood).findSolution();
+		final double searcherMs = (System.nanoTime() - begin) / 1e6;
+		begin = System.nanoTime();
+		new DistanceField(maze);
+		final double arrayMs = (System.nanoTime() - begin) / 1e6;
+		begin = System.nanoTime();
+		final long reached = bits.floodFill(maze.getInitialState());
+		final double bitsMs = (System.nanoTime() - begin) / 1e6;
+
+		System.out.printf("%-10s %d cells, %d levels: Searcher %9.1f ms, int arrays %8.1f ms,"
+				+ " bit-parallel %8.1f ms (%.0fx Searcher, %.1fx int arrays)%n", name, reached,
+				bits.getLevelCount(), searcherMs, arrayMs, bitsMs, searcherMs / bitsMs, arrayMs / bitsMs);
+	}
+}
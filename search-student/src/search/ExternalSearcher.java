@@ -0,0 +1,467 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * An implementation of a Searcher that performs a breadth-first search whose
+ * levels are kept in files rather than in memory, for problems with more
+ * states than fit in the heap.
+ * 
+ * Each level of the search is a file of encoded states, sorted and without
+ * duplicates. To build the next level, the states of the current level are
+ * read in order and their successors are collected in a buffer of bounded
+ * size; each time the buffer fills, it is sorted and written out as a run.
+ * The runs are then merged, and any state already in an earlier level is
+ * dropped by merging against one more file, sorted and without duplicates,
+ * of every state reached so far; the same pass writes the new version of
+ * that file. This is delayed duplicate detection: duplicates are found in
+ * sequential passes over files, never by random lookups. If there are more
+ * runs than can be merged at once, they are first merged in groups, in as
+ * many passes as needed.
+ * 
+ * Once a goal is found, the solution is rebuilt backwards: for each earlier
+ * level, its file is scanned for a state that has the current state as a
+ * successor.
+ * 
+ * The heap used by the search is set by the heap budget: while a level is
+ * expanded, the budget is the run buffer, and while its runs are merged, it
+ * is split among the read and write buffers of the files being merged. The
+ * number of files open at once does not grow with the depth of the search.
+ * For the merge, budgets below 20 KB are rounded up to that.
+ * 
+ * @author liberato
+ *
+ * @param <T> the type for each vertex in the search graph
+ */
+public class ExternalSearcher<T> extends Searcher<T> {
+	static final int MIN_IO_BUFFER_SIZE = 1 << 12;
+	private static final int MAX_IO_BUFFER_SIZE = 1 << 16;
+	private static final int MAX_FAN_IN = 64;
+
+	private final SearchProblem<T> searchProblem;
+	private final StateCodec<T> codec;
+	private final File directory;
+	private final long heapBudget;
+	private final int fanIn;
+	private final int ioBufferSize;
+	private volatile List<Long> levelSizes = Collections.emptyList();
+
+	/**
+	 * Instantiates a searcher.
+	 * 
+	 * @param searchProblem
+	 *            the search problem for which this searcher will find and
+	 *            validate solutions
+	 * @param codec
+	 *            the encoding of the problem's states
+	 * @param directory
+	 *            the directory in which to create temporary files
+	 * @param heapBudget
+	 *            the number of bytes of heap to use for buffering states
+	 */
+	public ExternalSearcher(SearchProblem<T> searchProblem, StateCodec<T> codec, File directory, long heapBudget) {
+		super(searchProblem);
+		if (heapBudget < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.searchProblem = searchProblem;
+		this.codec = codec;
+		this.directory = directory;
+		this.heapBudget = heapBudget;
+		this.fanIn = fanIn(heapBudget);
+		this.ioBufferSize = ioBufferSize(heapBudget);
+	}
+
+	/**
+	 * Returns the number of runs to merge at once. A merge holds a read
+	 * buffer for each run and for the states reached so far, and a write
+	 * buffer for each of its two outputs.
+	 */
+	static int fanIn(long heapBudget) {
+		return (int) Math.max(2, Math.min(MAX_FAN_IN, heapBudget / MIN_IO_BUFFER_SIZE - 3));
+	}
+
+	/**
+	 * Returns the size of each read and write buffer, so that the buffers of
+	 * a merge fit in the heap budget.
+	 */
+	static int ioBufferSize(long heapBudget) {
+		final long share = heapBudget / (fanIn(heapBudget) + 3);
+		return (int) Math.max(MIN_IO_BUFFER_SIZE, Math.min(MAX_IO_BUFFER_SIZE, share));
+	}
+
+	/**
+	 * Finds and return a shortest solution to the problem from the given
+	 * state, consisting of a list of states.
+	 * 
+	 * If there is no solution, then this method returns an empty list.
+	 * 
+	 * @param initialState
+	 *            the state from which to search
+	 * @return a solution from initialState (or an empty list)
+	 * @throws UncheckedIOException
+	 *             if the temporary files cannot be written or read
+	 */
+	@Override
+	public List<T> findSolutionFrom(T initialState) {
+		final List<Long> sizes = new ArrayList<>();
+		File workDirectory = null;
+		try {
+			workDirectory = Files.createTempDirectory(directory.toPath(), "bfs").toFile();
+			final int width = codec.width();
+			final List<File> levels = new ArrayList<>();
+
+			final byte[] encoded = new byte[width];
+			codec.encode(initialState, encoded, 0);
+			final File first = new File(workDirectory, "level-0");
+			File visited = new File(workDirectory, "visited-0");
+			for (File file : Arrays.asList(first, visited)) {
+				try (OutputStream out = new FileOutputStream(file)) {
+					out.write(encoded);
+				}
+			}
+			levels.add(first);
+			sizes.add(1L);
+
+			while (true) {
+				final int depth = levels.size() - 1;
+				final RunWriter runs = new RunWriter(workDirectory, depth + 1);
+				T goal = null;
+				try (RecordReader in = new RecordReader(levels.get(depth), width, ioBufferSize)) {
+					while (goal == null && in.next()) {
+						final T state = codec.decode(in.record, 0);
+						if (searchProblem.isGoal(state)) {
+							goal = state;
+						} else {
+							searchProblem.forEachSuccessor(state, runs);
+						}
+					}
+				}
+				if (goal != null) {
+					return rebuildPath(levels, goal);
+				}
+
+				final File next = new File(workDirectory, "level-" + (depth + 1));
+				final File nextVisited = new File(workDirectory, "visited-" + (depth + 1));
+				final List<File> merged = mergeRuns(runs.finish(), workDirectory, depth + 1);
+				final long count = mergeNewStates(merged, visited, next, nextVisited);
+				visited.delete();
+				visited = nextVisited;
+				if (count == 0) {
+					return new ArrayList<>();
+				}
+				levels.add(next);
+				sizes.add(count);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			levelSizes = sizes;
+			if (workDirectory != null) {
+				for (File file : workDirectory.listFiles()) {
+					file.delete();
+				}
+				workDirectory.delete();
+			}
+		}
+	}
+
+	/**
+	 * @return the number of states in each level of the most recent search;
+	 *         if several searches run at once, of whichever finished last
+	 */
+	public List<Long> getLevelSizes() {
+		return Collections.unmodifiableList(levelSizes);
+	}
+
+	/**
+	 * Merges groups of sorted runs into longer ones until there are few
+	 * enough to merge at once.
+	 */
+	private List<File> mergeRuns(List<File> runs, File directory, int level) throws IOException {
+		final int width = codec.width();
+		for (int pass = 1; runs.size() > fanIn; pass++) {
+			final List<File> merged = new ArrayList<>();
+			for (int from = 0; from < runs.size(); from += fanIn) {
+				final List<File> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+				final File run = new File(directory, "run-" + level + "-" + pass + "-" + merged.size());
+				final List<RecordReader> readers = new ArrayList<>();
+				try {
+					for (File file : group) {
+						readers.add(new RecordReader(file, width, ioBufferSize));
+					}
+					final MergeReader in = new MergeReader(readers, width);
+					try (OutputStream out = new BufferedOutputStream(new FileOutputStream(run), ioBufferSize)) {
+						while (in.next()) {
+							out.write(in.record());
+						}
+					}
+				} finally {
+					for (RecordReader reader : readers) {
+						reader.close();
+					}
+					for (File file : group) {
+						file.delete();
+					}
+				}
+				merged.add(run);
+			}
+			runs = merged;
+		}
+		return runs;
+	}
+
+	/**
+	 * Merges the sorted runs into the given file, dropping duplicates and any
+	 * state that appears in the file of states reached so far. The same pass
+	 * writes nextVisited, the union of those states and the new ones.
+	 * 
+	 * @return the number of states written to next
+	 */
+	private long mergeNewStates(List<File> runs, File visited, File next, File nextVisited) throws IOException {
+		final int width = codec.width();
+		final List<RecordReader> runReaders = new ArrayList<>();
+		long count = 0;
+		try (RecordReader seen = new RecordReader(visited, width, ioBufferSize)) {
+			for (File run : runs) {
+				runReaders.add(new RecordReader(run, width, ioBufferSize));
+			}
+			final MergeReader candidates = new MergeReader(runReaders, width);
+			boolean seenHasNext = seen.next();
+			try (OutputStream out = new BufferedOutputStream(new FileOutputStream(next), ioBufferSize);
+					OutputStream visitedOut = new BufferedOutputStream(new FileOutputStream(nextVisited),
+							ioBufferSize)) {
+				while (candidates.next()) {
+					final byte[] candidate = candidates.record();
+					int cmp = -1;
+					while (seenHasNext && (cmp = compare(seen.record, 0, candidate, 0, width)) < 0) {
+						visitedOut.write(seen.record);
+						seenHasNext = seen.next();
+					}
+					if (!seenHasNext || cmp > 0) {
+						out.write(candidate);
+						visitedOut.write(candidate);
+						count++;
+					}
+				}
+				while (seenHasNext) {
+					visitedOut.write(seen.record);
+					seenHasNext = seen.next();
+				}
+			}
+		} finally {
+			for (RecordReader reader : runReaders) {
+				reader.close();
+			}
+			for (File run : runs) {
+				run.delete();
+			}
+		}
+		return count;
+	}
+
+	private List<T> rebuildPath(List<File> levels, T goal) throws IOException {
+		final List<T> solutionPath = new ArrayList<>();
+		solutionPath.add(goal);
+		T current = goal;
+		for (int depth = levels.size() - 2; depth >= 0; depth--) {
+			try (RecordReader in = new RecordReader(levels.get(depth), codec.width(), ioBufferSize)) {
+				while (in.next()) {
+					final T state = codec.decode(in.record, 0);
+					if (searchProblem.getSuccessors(state).contains(current)) {
+						current = state;
+						break;
+					}
+				}
+			}
+			solutionPath.add(current);
+		}
+		Collections.reverse(solutionPath);
+		return solutionPath;
+	}
+
+	static int compare(byte[] a, int aOffset, byte[] b, int bOffset, int width) {
+		for (int i = 0; i < width; i++) {
+			final int cmp = (a[aOffset + i] & 0xFF) - (b[bOffset + i] & 0xFF);
+			if (cmp != 0) {
+				return cmp;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Collects encoded successors in a buffer, writing it out as a sorted run
+	 * without duplicates each time it fills.
+	 */
+	private class RunWriter implements Consumer<T> {
+		private final File directory;
+		private final int level;
+		private final int width;
+		private final byte[] buffer;
+		private final int[] order;
+		private final int[] scratch;
+		private final List<File> runs = new ArrayList<>();
+		private int count;
+
+		RunWriter(File directory, int level) {
+			this.directory = directory;
+			this.level = level;
+			this.width = codec.width();
+			// each buffered state needs its encoding plus two ints for sorting
+			final int capacity = (int) Math.max(1, Math.min(Integer.MAX_VALUE / width, heapBudget / (width + 8)));
+			buffer = new byte[capacity * width];
+			order = new int[capacity];
+			scratch = new int[capacity];
+		}
+
+		@Override
+		public void accept(T state) {
+			codec.encode(state, buffer, count * width);
+			count++;
+			if (count == order.length) {
+				try {
+					flush();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		}
+
+		List<File> finish() throws IOException {
+			flush();
+			return runs;
+		}
+
+		private void flush() throws IOException {
+			if (count == 0) {
+				return;
+			}
+			for (int i = 0; i < count; i++) {
+				order[i] = i * width;
+			}
+			sort(0, count);
+			final File run = new File(directory, "run-" + level + "-" + runs.size());
+			try (OutputStream out = new BufferedOutputStream(new FileOutputStream(run), ioBufferSize)) {
+				for (int i = 0; i < count; i++) {
+					if (i == 0 || compare(buffer, order[i - 1], buffer, order[i], width) != 0) {
+						out.write(buffer, order[i], width);
+					}
+				}
+			}
+			runs.add(run);
+			count = 0;
+		}
+
+		/**
+		 * Merge sorts the offsets in order[from, to) by the records they
+		 * point to.
+		 */
+		private void sort(int from, int to) {
+			if (to - from < 2) {
+				return;
+			}
+			final int middle = (from + to) >>> 1;
+			sort(from, middle);
+			sort(middle, to);
+			int left = from;
+			int right = middle;
+			for (int i = from; i < to; i++) {
+				if (right >= to || (left < middle && compare(buffer, order[left], buffer, order[right], width) <= 0)) {
+					scratch[i] = order[left++];
+				} else {
+					scratch[i] = order[right++];
+				}
+			}
+			System.arraycopy(scratch, from, order, from, to - from);
+		}
+	}
+
+	/**
+	 * Reads fixed-width records, one at a time, from a file.
+	 */
+	private static class RecordReader implements Closeable {
+		final byte[] record;
+		private final InputStream in;
+
+		RecordReader(File file, int width, int bufferSize) throws IOException {
+			record = new byte[width];
+			in = new BufferedInputStream(new FileInputStream(file), bufferSize);
+		}
+
+		/**
+		 * Reads the next record into record.
+		 * 
+		 * @return false if there are no more records
+		 */
+		boolean next() throws IOException {
+			int read = 0;
+			while (read < record.length) {
+				final int n = in.read(record, read, record.length - read);
+				if (n < 0) {
+					if (read == 0) {
+						return false;
+					}
+					throw new EOFException("Truncated record");
+				}
+				read += n;
+			}
+			return true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+	}
+
+	/**
+	 * Merges several sorted record readers into one sorted sequence without
+	 * duplicates.
+	 */
+	private static class MergeReader {
+		private final PriorityQueue<RecordReader> heap;
+		private final byte[] record;
+		private boolean started;
+
+		MergeReader(List<RecordReader> readers, int width) throws IOException {
+			heap = new PriorityQueue<>(Math.max(1, readers.size()),
+					(a, b) -> compare(a.record, 0, b.record, 0, width));
+			record = new byte[width];
+			for (RecordReader reader : readers) {
+				if (reader.next()) {
+					heap.add(reader);
+				}
+			}
+		}
+
+		byte[] record() {
+			return record;
+		}
+
+		boolean next() throws IOException {
+			while (!heap.isEmpty()) {
+				final RecordReader reader = heap.remove();
+				final boolean duplicate = started && compare(reader.record, 0, record, 0, record.length) == 0;
+				if (!duplicate) {
+					System.arraycopy(reader.record, 0, record, 0, record.length);
+				}
+				if (reader.next()) {
+					heap.add(reader);
+				}
+				if (!duplicate) {
+					started = true;
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
@@ -0,0 +1,368 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import graphs.EdgeListener;
+import graphs.IntIterator;
+
+import mazes.Cell;
+import mazes.Maze;
+
+/**
+ * A hierarchical (HPA*-style) Searcher for large mazes. The grid is split
+ * into square clusters, and each cluster is summarized by its nodes -- the
+ * cells with a passage out of the cluster, and the goals -- along with the
+ * length of the shortest path within the cluster between each pair of its
+ * nodes that are connected there. A query runs Dijkstra's algorithm over
+ * these nodes, stepping across cluster borders and through clusters by their
+ * summaries, then refines the result into a full path by searching within
+ * each cluster it passes through. As every passage between clusters ends at
+ * a node, the path is as short as one found by breadth-first search.
+ * 
+ * Summaries are built the first time a query needs them and then cached, so
+ * a query only pays for the clusters it reaches. The searcher registers
+ * itself with the maze (maze.addEdgeListener(this)), so a passage opened by
+ * maze.openPassage() causes the summaries of the clusters it touches to be
+ * rebuilt; all others are kept. Other changes may be reported by calling
+ * edgeChanged() directly.
+ * 
+ * Several queries may run at once, for instance through solveAll(). The
+ * cache takes no lock: two queries that both find a cluster unsummarized
+ * may each build it, and one of the equal summaries is kept. Each cluster
+ * has a version, which edgeChanged() advances, and each summary records the
+ * version of its cluster when its build began; a summary whose version is
+ * no longer current is never used again, even if a query that began before
+ * the change installs it afterwards.
+ * 
+ * @author liberato
+ *
+ */
+public class HierarchicalSearcher extends Searcher<Cell> implements EdgeListener<Cell> {
+	private final Maze maze;
+	private final int width;
+	private final int height;
+	private final int clusterSize;
+	private final int clustersY;
+	private final AtomicReferenceArray<Summary> summaries;
+	private final AtomicIntegerArray versions;
+	private final AtomicInteger buildCount = new AtomicInteger();
+	private volatile int expandedCount;
+
+	/**
+	 * The nodes of one cluster, in order of cell index, with the paths within
+	 * the cluster between them: the paths from nodes[i] lead to
+	 * targets[firstEdges[i]] to targets[firstEdges[i + 1] - 1].
+	 */
+	private static class Summary {
+		final int version;
+		final int[] nodes;
+		final int[] firstEdges;
+		final int[] targets;
+		final int[] lengths;
+
+		Summary(int version, int[] nodes, int[] firstEdges, int[] targets, int[] lengths) {
+			this.version = version;
+			this.nodes = nodes;
+			this.firstEdges = firstEdges;
+			this.targets = targets;
+			this.lengths = lengths;
+		}
+	}
+
+	/**
+	 * Instantiates a searcher, and registers it as a listener of the maze.
+	 * 
+	 * @param maze
+	 *            the maze for which this searcher will find and validate
+	 *            solutions
+	 * @param clusterSize
+	 *            the width and height of each cluster
+	 */
+	public HierarchicalSearcher(Maze maze, int clusterSize) {
+		super(maze);
+		if (clusterSize < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.maze = maze;
+		this.width = maze.getWidth();
+		this.height = maze.getHeight();
+		this.clusterSize = clusterSize;
+		clustersY = (height + clusterSize - 1) / clusterSize;
+		final int clusters = (width + clusterSize - 1) / clusterSize * clustersY;
+		summaries = new AtomicReferenceArray<>(clusters);
+		versions = new AtomicIntegerArray(clusters);
+		maze.addEdgeListener(this);
+	}
+
+	@Override
+	public void edgeAdded(Cell fromVertex, Cell toVertex) {
+		edgeChanged(fromVertex, toVertex);
+	}
+
+	/**
+	 * Notes that the passage between two cells has been added or removed, so
+	 * that the summaries of their clusters are rebuilt when next needed.
+	 * 
+	 * @param from
+	 * @param to
+	 */
+	public void edgeChanged(Cell from, Cell to) {
+		versions.incrementAndGet(clusterOf(maze.indexOf(from)));
+		versions.incrementAndGet(clusterOf(maze.indexOf(to)));
+	}
+
+	/**
+	 * Finds and return a shortest solution from the given cell.
+	 * 
+	 * If there is no solution, then this method returns an empty list.
+	 * 
+	 * @param initialState
+	 *            the cell from which to search
+	 * @return a solution from initialState (or an empty list)
+	 */
+	@Override
+	public List<Cell> findSolutionFrom(Cell initialState) {
+		final Query query = new Query();
+		final int start = maze.indexOf(initialState);
+		query.distances.put(start, 0);
+		query.open.add((long) start);
+		int expanded = 0;
+		while (!query.open.isEmpty()) {
+			final long entry = query.open.remove();
+			final int node = (int) entry;
+			final int distance = (int) (entry >>> 32);
+			// the heap may hold stale entries for nodes later reached more cheaply
+			if (distance > query.distances.get(node)) {
+				continue;
+			}
+			expanded++;
+			if (maze.isGoalIndex(node)) {
+				expandedCount = expanded;
+				return refine(query.predecessors, node);
+			}
+			query.expand(node, distance, node == start);
+		}
+		expandedCount = expanded;
+		return new ArrayList<>();
+	}
+
+	/**
+	 * The bookkeeping of Dijkstra's algorithm over the cluster nodes, which
+	 * are identified by cell index.
+	 */
+	private class Query {
+		final Map<Integer, Integer> distances = new HashMap<>();
+		final Map<Integer, Integer> predecessors = new HashMap<>();
+		// each entry is a distance in the high half and a node in the low
+		final PriorityQueue<Long> open = new PriorityQueue<>();
+		// the node being expanded
+		int node;
+
+		void expand(int node, int distance, boolean isStart) {
+			this.node = node;
+			final int cluster = clusterOf(node);
+			final Summary summary = summary(cluster);
+			final int i = Arrays.binarySearch(summary.nodes, node);
+			if (i >= 0) {
+				for (int edge = summary.firstEdges[i]; edge < summary.firstEdges[i + 1]; edge++) {
+					relax(summary.targets[edge], distance + summary.lengths[edge]);
+				}
+				for (IntIterator it = maze.successorIndices(node); it.hasNext();) {
+					final int neighbor = it.nextInt();
+					if (clusterOf(neighbor) != cluster) {
+						relax(neighbor, distance + 1);
+					}
+				}
+			} else if (isStart) {
+				// a start that is not a node reaches its cluster's nodes within
+				// the cluster
+				final int[] local = new int[localCount(cluster)];
+				bfs(node, cluster, local, null);
+				for (int target : summary.nodes) {
+					final int steps = local[localIndex(target, cluster)];
+					if (steps >= 0) {
+						relax(target, distance + steps);
+					}
+				}
+			}
+		}
+
+		private void relax(int target, int nextDistance) {
+			final Integer known = distances.get(target);
+			if (known == null || nextDistance < known) {
+				distances.put(target, nextDistance);
+				predecessors.put(target, node);
+				open.add((long) nextDistance << 32 | target);
+			}
+		}
+	}
+
+	/*
+	 * Expands the path of nodes ending at goal into a path of cells, searching
+	 * within the cluster for each step between two nodes of the same cluster.
+	 */
+	private List<Cell> refine(Map<Integer, Integer> predecessors, int goal) {
+		final List<Integer> nodes = new ArrayList<>();
+		for (Integer node = goal; node != null; node = predecessors.get(node)) {
+			nodes.add(node);
+		}
+		Collections.reverse(nodes);
+
+		final List<Cell> path = new ArrayList<>();
+		path.add(maze.stateAt(nodes.get(0)));
+		for (int i = 1; i < nodes.size(); i++) {
+			final int from = nodes.get(i - 1);
+			final int to = nodes.get(i);
+			final int cluster = clusterOf(from);
+			if (clusterOf(to) != cluster) {
+				path.add(maze.stateAt(to));
+				continue;
+			}
+			final int[] local = new int[localCount(cluster)];
+			final int[] preds = new int[local.length];
+			bfs(from, cluster, local, preds);
+			final int first = path.size();
+			for (int cell = to; cell != from; cell = preds[localIndex(cell, cluster)]) {
+				path.add(maze.stateAt(cell));
+			}
+			Collections.reverse(path.subList(first, path.size()));
+		}
+		return path;
+	}
+
+	private Summary summary(int cluster) {
+		// read the version first, so that a build that overlaps a change is
+		// tagged with the version from before it
+		final int version = versions.get(cluster);
+		final Summary cached = summaries.get(cluster);
+		if (cached != null && cached.version == version) {
+			return cached;
+		}
+		final Summary built = build(cluster, version);
+		buildCount.incrementAndGet();
+		if (versions.get(cluster) == version) {
+			summaries.compareAndSet(cluster, cached, built);
+		}
+		return built;
+	}
+
+	private Summary build(int cluster, int version) {
+		final int x0 = cluster / clustersY * clusterSize;
+		final int y0 = cluster % clustersY * clusterSize;
+		final int clusterWidth = Math.min(clusterSize, width - x0);
+		final int clusterHeight = Math.min(clusterSize, height - y0);
+		final int[] candidates = new int[clusterWidth * clusterHeight];
+		int nodeCount = 0;
+		for (int x = x0; x < x0 + clusterWidth; x++) {
+			for (int y = y0; y < y0 + clusterHeight; y++) {
+				final int index = x * height + y;
+				boolean leaves = false;
+				for (IntIterator it = maze.successorIndices(index); it.hasNext();) {
+					leaves |= clusterOf(it.nextInt()) != cluster;
+				}
+				if (leaves || maze.isGoalIndex(index)) {
+					candidates[nodeCount++] = index;
+				}
+			}
+		}
+		final int[] nodes = Arrays.copyOf(candidates, nodeCount);
+
+		final int[] firstEdges = new int[nodeCount + 1];
+		int[] targets = new int[nodeCount];
+		int[] lengths = new int[nodeCount];
+		int edgeCount = 0;
+		final int[] local = new int[candidates.length];
+		for (int i = 0; i < nodeCount; i++) {
+			firstEdges[i] = edgeCount;
+			bfs(nodes[i], cluster, local, null);
+			for (int j = 0; j < nodeCount; j++) {
+				final int steps = local[localIndex(nodes[j], cluster)];
+				if (j != i && steps >= 0) {
+					if (edgeCount == targets.length) {
+						targets = Arrays.copyOf(targets, 2 * targets.length);
+						lengths = Arrays.copyOf(lengths, 2 * lengths.length);
+					}
+					targets[edgeCount] = nodes[j];
+					lengths[edgeCount] = steps;
+					edgeCount++;
+				}
+			}
+		}
+		firstEdges[nodeCount] = edgeCount;
+		return new Summary(version, nodes, firstEdges, Arrays.copyOf(targets, edgeCount), Arrays.copyOf(lengths, edgeCount));
+	}
+
+	/*
+	 * Breadth-first search from the given cell, following only passages within
+	 * its cluster. Fills distances (and, if not null, predecessors, as cell
+	 * indices) by local index; unreached cells have distance -1.
+	 */
+	private void bfs(int from, int cluster, int[] distances, int[] predecessors) {
+		Arrays.fill(distances, -1);
+		final int[] queue = new int[distances.length];
+		int head = 0;
+		int tail = 0;
+		distances[localIndex(from, cluster)] = 0;
+		queue[tail++] = from;
+		while (head < tail) {
+			final int current = queue[head++];
+			final int next = distances[localIndex(current, cluster)] + 1;
+			for (IntIterator it = maze.successorIndices(current); it.hasNext();) {
+				final int neighbor = it.nextInt();
+				if (clusterOf(neighbor) == cluster && distances[localIndex(neighbor, cluster)] < 0) {
+					distances[localIndex(neighbor, cluster)] = next;
+					if (predecessors != null) {
+						predecessors[localIndex(neighbor, cluster)] = current;
+					}
+					queue[tail++] = neighbor;
+				}
+			}
+		}
+	}
+
+	private int clusterOf(int index) {
+		return index / height / clusterSize * clustersY + index % height / clusterSize;
+	}
+
+	private int localCount(int cluster) {
+		final int x0 = cluster / clustersY * clusterSize;
+		final int y0 = cluster % clustersY * clusterSize;
+		return Math.min(clusterSize, width - x0) * Math.min(clusterSize, height - y0);
+	}
+
+	private int localIndex(int index, int cluster) {
+		final int x0 = cluster / clustersY * clusterSize;
+		final int y0 = cluster % clustersY * clusterSize;
+		final int clusterHeight = Math.min(clusterSize, height - y0);
+		return (index / height - x0) * clusterHeight + (index % height - y0);
+	}
+
+	/**
+	 * @return the number of cluster nodes expanded by the most recent search;
+	 *         if several searches run at once, by whichever finished last
+	 */
+	public int getExpandedCount() {
+		return expandedCount;
+	}
+
+	/**
+	 * @return the number of cluster summaries built so far, including
+	 *         rebuilds
+	 */
+	public int getBuildCount() {
+		return buildCount.get();
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.Random;
+
+import mazes.Cell;
+import mazes.Maze;
+import mazes.MazeGenerator;
+
+/**
+ * Compares A* with HierarchicalSearcher on mazes of increasing size, from a
+ * number of random starts. The hierarchical searcher is timed twice: once
+ * while it builds the cluster summaries it needs, and again with them
+ * cached.
+ * 
+ * Usage: HierarchicalSearcherDriver [maxSide [clusterSize [starts]]]
+ */
+public class HierarchicalSearcherDriver {
+	public static void main(String[] args) {
+		final int maxSide = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		final int clusterSize = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+		final int starts = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+		for (int side = 250; side <= maxSide; side *= 2) {
+			final Maze maze = MazeGenerator.withGridGraph(side, side, 0).generateTiled(64);
+			final Random random = new Random(0);
+			final Cell[] cells = new Cell[starts];
+			for (int i = 0; i < starts; i++) {
+				cells[i] = new Cell(random.nextInt(side), random.nextInt(side));
+			}
+
+			long begin = System.nanoTime();
+			long expanded = 0;
+			long length = 0;
+			for (Cell cell : cells) {
+				final AStarSearcher<Cell> from = new AStarSearcher<Cell>(maze.withStart(cell));
+				length += from.findSolution().size();
+				expanded += from.getExpandedCount();
+			}
+			final double astarMs = (System.nanoTime() - begin) / 1e6 / starts;
+
+			final HierarchicalSearcher hierarchical = new HierarchicalSearcher(maze, clusterSize);
+			begin = System.nanoTime();
+			for (Cell cell : cells) {
+				hierarchical.findSolutionFrom(cell);
+			}
+			final double coldMs = (System.nanoTime() - begin) / 1e6 / starts;
+			begin = System.nanoTime();
+			long nodes = 0;
+			long hierarchicalLength = 0;
+			for (Cell cell : cells) {
+				hierarchicalLength += hierarchical.findSolutionFrom(cell).size();
+				nodes += hierarchical.getExpandedCount();
+			}
+			final double warmMs = (System.nanoTime() - begin) / 1e6 / starts;
+
+			System.out.printf("%5d x %-5d A* %8.2f ms/query (%7d states expanded, length %d);"
+					+ " hierarchical %8.2f ms cold, %6.2f ms warm (%6d nodes expanded, length %d, %d clusters built)%n",
+					side, side, astarMs, expanded / starts, length, coldMs, warmMs, nodes / starts,
+					hierarchicalLength, hierarchical.getBuildCount());
+		}
+	}
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import graphs.EdgeListener;
+
+/**
+ * A Searcher that keeps its work between calls, and repairs it when edges of
+ * the problem's graph change, in the manner of Lifelong Planning A* and D*
+ * Lite (Koenig and Likhachev). It searches backward from all the goals at
+ * once, keeping for each state g, the best known distance to a goal, and
+ * rhs, the distance implied by its successors' g values. A search stops as
+ * soon as the start's distance is known, so later searches from other starts
+ * reuse every distance already found. After an edge changes, only states
+ * whose distances it affects are searched again.
+ * 
+ * The searcher uses no heuristic, so a moving start needs no adjustment of
+ * the queue, and one searcher can serve any number of starts.
+ * 
+ * Register the searcher with the problem's graph (for a Maze,
+ * maze.addEdgeListener(searcher)) so that it hears of each added edge; or
+ * call edgeChanged() directly. Searches and edge changes synchronize on the
+ * searcher, since they share its distances and queue; solveAll() is safe,
+ * but its searches run one at a time.
+ * 
+ * @author liberato
+ *
+ * @param <T>
+ *            the type for each vertex in the search graph
+ */
+public class IncrementalSearcher<T> extends Searcher<T> implements EdgeListener<T> {
+	private static final int INFINITY = Integer.MAX_VALUE;
+
+	private final IndexedReversibleSearchProblem<T> searchProblem;
+	private final int[] g;
+	private final int[] rhs;
+	private final IndexedHeap queue;
+	private final RhsUpdater rhsUpdater = new RhsUpdater();
+	private final IntConsumer predecessorUpdater = this::updateVertex;
+	private int expandedCount;
+
+	/**
+	 * Instantiates a searcher.
+	 * 
+	 * @param searchProblem
+	 *            the search problem for which this searcher will find and
+	 *            validate solutions
+	 */
+	public IncrementalSearcher(IndexedReversibleSearchProblem<T> searchProblem) {
+		super(searchProblem);
+		this.searchProblem = searchProblem;
+		final int count = searchProblem.stateCount();
+		g = new int[count];
+		rhs = new int[count];
+		queue = new IndexedHeap(count);
+		Arrays.fill(g, INFINITY);
+		Arrays.fill(rhs, INFINITY);
+		for (T goal : searchProblem.getGoalStates()) {
+			final int index = searchProblem.indexOf(goal);
+			rhs[index] = 0;
+			queue.set(index, 0);
+		}
+	}
+
+	/**
+	 * Finds and return a shortest solution from the given state, reusing and
+	 * extending the distances found by earlier calls.
+	 * 
+	 * If there is no solution, then this method returns an empty list.
+	 * 
+	 * @return a solution to the problem (or an empty list)
+	 */
+	@Override
+	public synchronized List<T> findSolutionFrom(T initialState) {
+		final int start = searchProblem.indexOf(initialState);
+		computeShortestPath(start);
+		if (g[start] == INFINITY) {
+			return new ArrayList<>();
+		}
+		// every state on a shortest path from the start has its distance
+		final List<T> path = new ArrayList<>(g[start] + 1);
+		final NextStep next = new NextStep();
+		path.add(initialState);
+		for (int current = start; g[current] > 0;) {
+			next.best = -1;
+			next.distance = g[current] - 1;
+			searchProblem.forEachSuccessorIndex(current, next);
+			current = next.best;
+			path.add(searchProblem.stateAt(current));
+		}
+		return path;
+	}
+
+	/**
+	 * Notes that the edge from one state to another has been added, removed,
+	 * or changed. The states whose distances it affects are queued, and are
+	 * searched again by the next call to findSolution() that needs them.
+	 * 
+	 * @param from
+	 * @param to
+	 */
+	public synchronized void edgeChanged(T from, T to) {
+		updateVertex(searchProblem.indexOf(from));
+		// for problems whose edges run both ways, the reverse edge changed too
+		updateVertex(searchProblem.indexOf(to));
+	}
+
+	@Override
+	public void edgeAdded(T fromVertex, T toVertex) {
+		edgeChanged(fromVertex, toVertex);
+	}
+
+	/**
+	 * @return the number of states expanded by the most recent call to
+	 *         findSolution()
+	 */
+	public synchronized int getExpandedCount() {
+		return expandedCount;
+	}
+
+	private void computeShortestPath(int start) {
+		expandedCount = 0;
+		while (!queue.isEmpty() && (queue.peekKey() < Math.min(g[start], rhs[start]) || g[start] != rhs[start])) {
+			final int current = queue.remove();
+			expandedCount++;
+			if (g[current] > rhs[current]) {
+				g[current] = rhs[current];
+			} else {
+				g[current] = INFINITY;
+				updateVertex(current);
+			}
+			searchProblem.forEachPredecessorIndex(current, predecessorUpdater);
+		}
+	}
+
+	private void updateVertex(int index) {
+		if (rhs[index] != 0) {
+			rhsUpdater.best = INFINITY;
+			searchProblem.forEachSuccessorIndex(index, rhsUpdater);
+			rhs[index] = rhsUpdater.best;
+		}
+		if (g[index] != rhs[index]) {
+			queue.set(index, Math.min(g[index], rhs[index]));
+		} else {
+			queue.remove(index);
+		}
+	}
+
+	/**
+	 * Finds the least of 1 + g over the successors of a state.
+	 */
+	private class RhsUpdater implements IntConsumer {
+		int best;
+
+		@Override
+		public void accept(int successor) {
+			if (g[successor] != INFINITY) {
+				best = Math.min(best, g[successor] + 1);
+			}
+		}
+	}
+
+	/**
+	 * Finds a successor with the given distance to a goal.
+	 */
+	private class NextStep implements IntConsumer {
+		int distance;
+		int best;
+
+		@Override
+		public void accept(int successor) {
+			if (best < 0 && g[successor] == distance) {
+				best = successor;
+			}
+		}
+	}
+
+	/**
+	 * A binary min-heap of state numbers by int key, which can find, rekey
+	 * and remove any state it holds.
+	 */
+	static class IndexedHeap {
+		private final int[] heap;
+		private final int[] keys;
+		private final int[] positions;
+		private int size;
+
+		IndexedHeap(int capacity) {
+			heap = new int[capacity];
+			keys = new int[capacity];
+			positions = new int[capacity];
+			Arrays.fill(positions, -1);
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		int peekKey() {
+			return keys[heap[0]];
+		}
+
+		/**
+		 * Adds the state with the given key, or changes its key if it is
+		 * already held.
+		 */
+		void set(int index, int key) {
+			if (positions[index] < 0) {
+				positions[index] = size;
+				heap[size++] = index;
+				keys[index] = key;
+				siftUp(positions[index]);
+			} else if (key < keys[index]) {
+				keys[index] = key;
+				siftUp(positions[index]);
+			} else {
+				keys[index] = key;
+				siftDown(positions[index]);
+			}
+		}
+
+		/**
+		 * Removes and returns the state with the least key.
+		 */
+		int remove() {
+			final int top = heap[0];
+			remove(top);
+			return top;
+		}
+
+		/**
+		 * Removes the given state, if it is held.
+		 */
+		void remove(int index) {
+			final int position = positions[index];
+			if (position < 0) {
+				return;
+			}
+			positions[index] = -1;
+			size--;
+			if (position == size) {
+				return;
+			}
+			final int last = heap[size];
+			heap[position] = last;
+			positions[last] = position;
+			siftUp(position);
+			siftDown(positions[last]);
+		}
+
+		private void siftUp(int position) {
+			final int index = heap[position];
+			while (position > 0) {
+				final int parent = (position - 1) >>> 1;
+				if (keys[heap[parent]] <= keys[index]) {
+					break;
+				}
+				heap[position] = heap[parent];
+				positions[heap[position]] = position;
+				position = parent;
+			}
+			heap[position] = index;
+			positions[index] = position;
+		}
+
+		private void siftDown(int position) {
+			final int index = heap[position];
+			while (true) {
+				int child = 2 * position + 1;
+				if (child >= size) {
+					break;
+				}
+				if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+					child++;
+				}
+				if (keys[index] <= keys[heap[child]]) {
+					break;
+				}
+				heap[position] = heap[child];
+				positions[heap[position]] = position;
+				position = child;
+			}
+			heap[position] = index;
+			positions[index] = position;
+		}
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import mazes.Cell;
+import mazes.Maze;
+import mazes.MazeGenerator;
+
+/**
+ * Simulates agents walking a maze whose walls open as they go. Each round,
+ * about 1% of the remaining walls open, every agent replans, and then takes
+ * a few steps along its plan. Replanning is timed both with one
+ * IncrementalSearcher shared by all agents and with a fresh breadth-first
+ * search per agent.
+ * 
+ * Usage: IncrementalSearcherDriver [side [agents [rounds]]]
+ */
+public class IncrementalSearcherDriver {
+	public static void main(String[] args) {
+		final int side = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+		final int agentCount = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+		final int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+		final Maze maze = new MazeGenerator(side, side, 0).generateDfs();
+		final IncrementalSearcher<Cell> incremental = new IncrementalSearcher<Cell>(maze);
+		maze.addEdgeListener(incremental);
+
+		final Random random = new Random(0);
+		final Cell[] agents = new Cell[agentCount];
+		for (int i = 0; i < agentCount; i++) {
+			agents[i] = new Cell(random.nextInt(side), random.nextInt(side));
+		}
+		// a perfect maze has (side - 1)^2 walls between its cells
+		final int wallsPerRound = Math.max(1, (side - 1) * (side - 1) / 100);
+		double incrementalMs = 0;
+		double freshMs = 0;
+		for (int round = 0; round < rounds; round++) {
+			int opened = 0;
+			while (opened < wallsPerRound) {
+				final Cell cell = new Cell(random.nextInt(side - 1), random.nextInt(side - 1));
+				final Cell neighbor = random.nextBoolean() ? new Cell(cell.posX + 1, cell.posY)
+						: new Cell(cell.posX, cell.posY + 1);
+				if (!maze.getSuccessors(cell).contains(neighbor)) {
+					maze.openPassage(cell, neighbor);
+					opened++;
+				}
+			}
+
+			long begin = System.nanoTime();
+			long expanded = 0;
+			long length = 0;
+			final List<List<Cell>> plans = new ArrayList<>(agentCount);
+			for (int i = 0; i < agentCount; i++) {
+				plans.add(incremental.findSolutionFrom(agents[i]));
+				expanded += incremental.getExpandedCount();
+				length += plans.get(i).size();
+			}
+			final double roundIncremental = (System.nanoTime() - begin) / 1e6;
+
+			begin = System.nanoTime();
+			long freshLength = 0;
+			for (int i = 0; i < agentCount; i++) {
+				freshLength += new Searcher<Cell>(maze).findSolutionFrom(agents[i]).size();
+			}
+			final double roundFresh = (System.nanoTime() - begin) / 1e6;
+
+			System.out.printf("round %2d: %d walls opened; incremental %8.2f ms (%6d states expanded),"
+					+ " fresh breadth-first %8.2f ms [lengths %d, %d]%n", round, opened, roundIncremental,
+					expanded, roundFresh, length, freshLength);
+			if (round > 0) {
+				incrementalMs += roundIncremental;
+				freshMs += roundFresh;
+			}
+			for (int i = 0; i < agentCount; i++) {
+				final List<Cell> plan = plans.get(i);
+				agents[i] = plan.get(Math.min(10, plan.size() - 1));
+			}
+		}
+		System.out.printf("after the first round: incremental %.1f ms, fresh %.1f ms%n", incrementalMs, freshMs);
+	}
+}
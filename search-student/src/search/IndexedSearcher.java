@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * An implementation of a Searcher that performs a breadth-first search over
+ * the state numbers of an IndexedSearchProblem.
+ * 
+ * The visited states are a bitset (one bit per state), the predecessor of
+ * each state is an entry in an int array, and the queue is a ring buffer of
+ * ints that grows only as large as the widest level of the search. In all,
+ * the search uses a little over four bytes per state, and does not box or
+ * allocate per state.
+ * 
+ * @author liberato
+ *
+ * @param <T> the type for each vertex in the search graph
+ */
+public class IndexedSearcher<T> extends Searcher<T> {
+	private final IndexedSearchProblem<T> searchProblem;
+
+	/**
+	 * Instantiates a searcher.
+	 * 
+	 * @param searchProblem
+	 *            the search problem for which this searcher will find and
+	 *            validate solutions
+	 */
+	public IndexedSearcher(IndexedSearchProblem<T> searchProblem) {
+		super(searchProblem);
+		this.searchProblem = searchProblem;
+	}
+
+	/**
+	 * Finds and return a shortest solution to the problem from the given
+	 * state, consisting of a list of states.
+	 * 
+	 * If there is no solution, then this method returns an empty list.
+	 * 
+	 * @param initialState
+	 *            the state from which to search
+	 * @return a solution from initialState (or an empty list)
+	 */
+	@Override
+	public List<T> findSolutionFrom(T initialState) {
+		final int initial = searchProblem.indexOf(initialState);
+		final Expander expander = new Expander(searchProblem.stateCount());
+		expander.visit(initial, initial);
+
+		while (!expander.queue.isEmpty()) {
+			final int current = expander.queue.remove();
+			if (searchProblem.isGoalIndex(current)) {
+				final List<T> solutionPath = new ArrayList<>();
+				for (int state = current; state != initial; state = expander.parents[state]) {
+					solutionPath.add(searchProblem.stateAt(state));
+				}
+				solutionPath.add(searchProblem.stateAt(initial));
+				Collections.reverse(solutionPath);
+				return solutionPath;
+			}
+			expander.current = current;
+			searchProblem.forEachSuccessorIndex(current, expander);
+		}
+		return new ArrayList<>();
+	}
+
+	private static class Expander implements IntConsumer {
+		final int[] parents;
+		final long[] visited;
+		final IntRingBuffer queue = new IntRingBuffer();
+		int current;
+
+		Expander(int stateCount) {
+			parents = new int[stateCount];
+			visited = new long[(stateCount + 63) >>> 6];
+		}
+
+		void visit(int state, int parent) {
+			visited[state >>> 6] |= 1L << state;
+			parents[state] = parent;
+			queue.add(state);
+		}
+
+		@Override
+		public void accept(int next) {
+			if ((visited[next >>> 6] & (1L << next)) == 0) {
+				visit(next, current);
+			}
+		}
+	}
+
+	/**
+	 * A first-in, first-out queue of ints in a circular array, whose capacity
+	 * doubles whenever it fills.
+	 */
+	static class IntRingBuffer {
+		private int[] items = new int[64];
+		private int head;
+		private int size;
+
+		void add(int item) {
+			if (size == items.length) {
+				final int[] grown = new int[2 * items.length];
+				for (int i = 0; i < size; i++) {
+					grown[i] = items[(head + i) & (items.length - 1)];
+				}
+				items = grown;
+				head = 0;
+			}
+			items[(head + size) & (items.length - 1)] = item;
+			size++;
+		}
+
+		int remove() {
+			final int item = items[head];
+			head = (head + 1) & (items.length - 1);
+			size--;
+			return item;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.*;
+
+/**
+ * An implementation of a Searcher that performs an iterative-deepening A*
+ * (IDA*) search.
+ * 
+ * Each iteration is a depth-first search that abandons any state whose moves
+ * taken so far plus the problem's estimate of the moves remaining exceeds a
+ * bound. The first bound is the estimate for the initial state; each later
+ * bound is the smallest value that exceeded the previous one.
+ * 
+ * Only the current path is kept, on an explicit stack, so memory use grows
+ * with the depth of the solution rather than with the number of states seen.
+ * The only duplicate detection is that a state's successor leading straight
+ * back to its parent is skipped.
+ * 
+ * @author liberato
+ *
+ * @param <T> the type for each vertex in the search graph
+ */
+public class IterativeDeepeningAStarSearcher<T> extends Searcher<T> {
+	private final HeuristicSearchProblem<T> searchProblem;
+	private volatile List<Iteration> iterations = Collections.emptyList();
+
+	/**
+	 * The outcome of one bounded depth-first iteration.
+	 */
+	public static class Iteration {
+		public final int bound;
+		public final long expandedCount;
+
+		Iteration(int bound, long expandedCount) {
+			this.bound = bound;
+			this.expandedCount = expandedCount;
+		}
+
+		@Override
+		public String toString() {
+			return "Iteration [bound=" + bound + ", expanded=" + expandedCount + "]";
+		}
+	}
+
+	/**
+	 * Instantiates a searcher.
+	 * 
+	 * @param searchProblem
+	 *            the search problem for which this searcher will find and
+	 *            validate solutions
+	 */
+	public IterativeDeepeningAStarSearcher(HeuristicSearchProblem<T> searchProblem) {
+		super(searchProblem);
+		this.searchProblem = searchProblem;
+	}
+
+	/**
+	 * Finds and return a shortest solution to the problem from the given
+	 * state, consisting of a list of states.
+	 * 
+	 * If there is no solution, then this method returns an empty list only if
+	 * the problem says so by estimating Integer.MAX_VALUE for the initial
+	 * state (as the sliding puzzles do for an unsolvable state), or for the
+	 * end of every path from it. Otherwise this method does not return: the
+	 * only repeat it detects is a move straight back to the parent, so on a
+	 * problem whose states form cycles some state is always pruned, and the
+	 * bound rises forever.
+	 * 
+	 * @param initialState
+	 *            the state from which to search
+	 * @return a solution from initialState (or an empty list)
+	 */
+	@Override
+	public List<T> findSolutionFrom(T initialState) {
+		if (searchProblem.isGoal(initialState)) {
+			iterations = Collections.emptyList();
+			return new ArrayList<>(Collections.singletonList(initialState));
+		}
+
+		final List<Iteration> completed = new ArrayList<>();
+		final List<T> path = new ArrayList<>();
+		final List<Iterator<T>> successors = new ArrayList<>();
+		int bound = searchProblem.estimateDistanceToGoal(initialState);
+		if (bound == Integer.MAX_VALUE) {
+			iterations = completed;
+			return path;
+		}
+		while (true) {
+			long expandedCount = 1;
+			int nextBound = Integer.MAX_VALUE;
+			path.add(initialState);
+			successors.add(searchProblem.getSuccessors(initialState).iterator());
+
+			while (!path.isEmpty()) {
+				final int depth = path.size() - 1;
+				final Iterator<T> it = successors.get(depth);
+				if (!it.hasNext()) {
+					path.remove(depth);
+					successors.remove(depth);
+					continue;
+				}
+				final T state = it.next();
+				if (depth > 0 && state.equals(path.get(depth - 1))) {
+					continue;
+				}
+				final int remaining = searchProblem.estimateDistanceToGoal(state);
+				if (remaining == Integer.MAX_VALUE) {
+					continue;
+				}
+				final int estimate = depth + 1 + remaining;
+				if (estimate > bound) {
+					nextBound = Math.min(nextBound, estimate);
+					continue;
+				}
+				path.add(state);
+				if (searchProblem.isGoal(state)) {
+					completed.add(new Iteration(bound, expandedCount));
+					iterations = completed;
+					return path;
+				}
+				successors.add(searchProblem.getSuccessors(state).iterator());
+				expandedCount++;
+			}
+
+			completed.add(new Iteration(bound, expandedCount));
+			if (nextBound == Integer.MAX_VALUE) {
+				iterations = completed;
+				return path;
+			}
+			bound = nextBound;
+		}
+	}
+
+	/**
+	 * @return the bound and number of states expanded for each iteration of
+	 *         the most recent search; if several searches run at once, of
+	 *         whichever finished last
+	 */
+	public List<Iteration> getIterations() {
+		return Collections.unmodifiableList(iterations);
+	}
+}
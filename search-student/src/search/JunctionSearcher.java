@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import mazes.Cell;
+import mazes.JunctionGraph;
+import mazes.Maze;
+
+/**
+ * A Searcher for mazes that runs Dijkstra's algorithm over the maze's
+ * JunctionGraph, so it only expands junctions, skipping along each corridor
+ * in a single step. The corridors are then expanded back into a full path,
+ * which is as short as one found by breadth-first search.
+ * 
+ * @author liberato
+ *
+ */
+public class JunctionSearcher extends Searcher<Cell> {
+	private final Maze maze;
+	private final JunctionGraph graph;
+	private volatile int expandedCount;
+
+	/**
+	 * Instantiates a searcher, contracting the maze.
+	 * 
+	 * @param maze
+	 *            the maze for which this searcher will find and validate
+	 *            solutions
+	 */
+	public JunctionSearcher(Maze maze) {
+		this(new JunctionGraph(maze));
+	}
+
+	/**
+	 * Instantiates a searcher over an already contracted maze.
+	 * 
+	 * @param graph
+	 *            the contracted maze
+	 */
+	public JunctionSearcher(JunctionGraph graph) {
+		super(graph.getMaze());
+		this.maze = graph.getMaze();
+		this.graph = graph;
+	}
+
+	/**
+	 * Finds and return a shortest solution from the given cell.
+	 * 
+	 * If there is no solution, then this method returns an empty list.
+	 * 
+	 * @param initialState
+	 *            the cell from which to search
+	 * @return a solution from initialState (or an empty list)
+	 */
+	@Override
+	public List<Cell> findSolutionFrom(Cell initialState) {
+		final int[] distances = new int[graph.getJunctionCount()];
+		final int[] predEdges = new int[graph.getJunctionCount()];
+		Arrays.fill(distances, Integer.MAX_VALUE);
+		Arrays.fill(predEdges, -1);
+		// each entry is a distance in the high half and a junction in the low
+		final PriorityQueue<Long> open = new PriorityQueue<>();
+
+		// a start on a corridor reaches the junctions at both of its ends
+		final List<List<Cell>> startWalks = new ArrayList<>();
+		final int startJunction = graph.junctionOf(initialState);
+		if (startJunction >= 0) {
+			distances[startJunction] = 0;
+			open.add((long) startJunction);
+		} else {
+			for (Cell first : maze.getSuccessors(initialState)) {
+				final List<Cell> walk = graph.walkCorridor(initialState, first);
+				if (!walk.isEmpty()) {
+					final int junction = graph.junctionOf(walk.get(walk.size() - 1));
+					if (walk.size() < distances[junction]) {
+						distances[junction] = walk.size();
+						open.add((long) walk.size() << 32 | junction);
+					}
+					startWalks.add(walk);
+				}
+			}
+		}
+
+		int expanded = 0;
+		while (!open.isEmpty()) {
+			final long entry = open.remove();
+			final int junction = (int) entry;
+			final int distance = (int) (entry >>> 32);
+			// the heap may hold stale entries for junctions later reached more cheaply
+			if (distance > distances[junction]) {
+				continue;
+			}
+			expanded++;
+			if (maze.isGoal(graph.junctionAt(junction))) {
+				expandedCount = expanded;
+				return buildPath(initialState, startWalks, predEdges, junction);
+			}
+			for (int edge = graph.firstEdge(junction); edge < graph.firstEdge(junction + 1); edge++) {
+				final int target = graph.edgeTarget(edge);
+				final int nextDistance = distance + graph.edgeLength(edge);
+				if (nextDistance < distances[target]) {
+					distances[target] = nextDistance;
+					predEdges[target] = edge;
+					open.add((long) nextDistance << 32 | target);
+				}
+			}
+		}
+		expandedCount = expanded;
+		return new ArrayList<>();
+	}
+
+	private List<Cell> buildPath(Cell initialState, List<List<Cell>> startWalks, int[] predEdges, int goal) {
+		final List<Integer> edges = new ArrayList<>();
+		int junction = goal;
+		while (predEdges[junction] >= 0) {
+			edges.add(predEdges[junction]);
+			junction = graph.edgeSource(predEdges[junction]);
+		}
+		Collections.reverse(edges);
+
+		final List<Cell> path = new ArrayList<>();
+		path.add(initialState);
+		// the shorter walk from the start to the first junction, if any
+		List<Cell> startWalk = null;
+		for (List<Cell> walk : startWalks) {
+			if (graph.junctionOf(walk.get(walk.size() - 1)) == junction
+					&& (startWalk == null || walk.size() < startWalk.size())) {
+				startWalk = walk;
+			}
+		}
+		if (startWalk != null) {
+			path.addAll(startWalk);
+		}
+		for (int edge : edges) {
+			graph.appendEdge(edge, path);
+		}
+		return path;
+	}
+
+	/**
+	 * @return the number of junctions expanded by the most recent search; if
+	 *         several searches run at once, by whichever finished last
+	 */
+	public int getExpandedCount() {
+		return expandedCount;
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.Random;
+
+import mazes.Cell;
+import mazes.JunctionGraph;
+import mazes.Maze;
+import mazes.MazeGenerator;
+
+/**
+ * Compares breadth-first search with JunctionSearcher on a large DFS maze,
+ * from a number of random starts, reporting the states each expands.
+ * 
+ * Usage: JunctionSearcherDriver [side [starts]]
+ */
+public class JunctionSearcherDriver {
+	public static void main(String[] args) {
+		final int side = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		final int starts = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		final Maze maze = MazeGenerator.withGridGraph(side, side, 0).generateDfs();
+
+		long begin = System.nanoTime();
+		final JunctionGraph graph = new JunctionGraph(maze);
+		System.out.printf("%d x %d maze: %d junctions (%.1f%% of cells), %d edges, contracted in %.1f ms%n", side,
+				side, graph.getJunctionCount(), 100.0 * graph.getJunctionCount() / maze.stateCount(),
+				graph.getEdgeCount(), (System.nanoTime() - begin) / 1e6);
+
+		final Random random = new Random(0);
+		final Cell[] cells = new Cell[starts];
+		for (int i = 0; i < starts; i++) {
+			cells[i] = new Cell(random.nextInt(side), random.nextInt(side));
+		}
+		final Searcher<Cell> bfs = new Searcher<Cell>(maze);
+		final JunctionSearcher junctions = new JunctionSearcher(graph);
+		// warm up
+		for (Cell cell : cells) {
+			bfs.findSolutionFrom(cell);
+			junctions.findSolutionFrom(cell);
+		}
+
+		begin = System.nanoTime();
+		long length = 0;
+		for (Cell cell : cells) {
+			length += bfs.findSolutionFrom(cell).size();
+		}
+		final double bfsMs = (System.nanoTime() - begin) / 1e6;
+
+		begin = System.nanoTime();
+		long junctionLength = 0;
+		long expanded = 0;
+		for (Cell cell : cells) {
+			junctionLength += junctions.findSolutionFrom(cell).size();
+			expanded += junctions.getExpandedCount();
+		}
+		final double junctionMs = (System.nanoTime() - begin) / 1e6;
+
+		System.out.printf("breadth-first: %8.1f ms [%d states on paths]%n", bfsMs, length);
+		System.out.printf("junctions:     %8.1f ms [%d states on paths, %d junctions expanded]%n", junctionMs,
+				junctionLength, expanded);
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.*;
+
+/**
+ * An implementation of a Searcher that performs a breadth-first search over
+ * the packed states of a LongSearchProblem.
+ * 
+ * The predecessor of each state is kept in a hash table of longs with open
+ * addressing, and the queue is a ring buffer of longs. Neither boxes a state,
+ * and successors are written into one reused array, so the search allocates
+ * only when a table grows and when the solution is built.
+ * 
+ * @author liberato
+ *
+ */
+public class LongSearcher extends Searcher<Long> {
+	private final LongSearchProblem searchProblem;
+	private final int expectedStates;
+
+	/**
+	 * Instantiates a searcher.
+	 * 
+	 * @param searchProblem
+	 *            the search problem for which this searcher will find and
+	 *            validate solutions
+	 */
+	public LongSearcher(LongSearchProblem searchProblem) {
+		this(searchProblem, 0);
+	}
+
+	/**
+	 * Instantiates a searcher whose hash table starts large enough for the
+	 * given number of states, so that it need not grow while they are found.
+	 * 
+	 * @param searchProblem
+	 *            the search problem for which this searcher will find and
+	 *            validate solutions
+	 * @param expectedStates
+	 *            the number of states the search is expected to reach
+	 */
+	public LongSearcher(LongSearchProblem searchProblem, int expectedStates) {
+		super(searchProblem);
+		if (expectedStates < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.searchProblem = searchProblem;
+		this.expectedStates = expectedStates;
+	}
+
+	/**
+	 * Finds and return a shortest solution to the problem from the given
+	 * state, consisting of a list of states.
+	 * 
+	 * If there is no solution, then this method returns an empty list.
+	 * 
+	 * @param initialState
+	 *            the state from which to search
+	 * @return a solution from initialState (or an empty list)
+	 */
+	@Override
+	public List<Long> findSolutionFrom(Long initialState) {
+		final long start = initialState;
+		final LongMap predecessors = new LongMap(expectedStates);
+		final LongRingBuffer queue = new LongRingBuffer();
+		final long[] successors = new long[searchProblem.maxSuccessors()];
+		predecessors.putIfAbsent(start, start);
+		queue.add(start);
+
+		while (!queue.isEmpty()) {
+			final long current = queue.remove();
+			if (searchProblem.isGoal(current)) {
+				final List<Long> solutionPath = new ArrayList<>();
+				for (long state = current; state != start; state = predecessors.get(state)) {
+					solutionPath.add(state);
+				}
+				solutionPath.add(start);
+				Collections.reverse(solutionPath);
+				return solutionPath;
+			}
+			final int count = searchProblem.successors(current, successors);
+			for (int i = 0; i < count; i++) {
+				if (predecessors.putIfAbsent(successors[i], current)) {
+					queue.add(successors[i]);
+				}
+			}
+		}
+		return new ArrayList<>();
+	}
+
+	/**
+	 * A map from long to long in one array of alternating keys and values,
+	 * probed linearly from a multiplicative hash of the key, so that a probe
+	 * reads a key and its value from the same cache line. A key of 0 marks
+	 * an empty slot, so the key 0 itself is kept aside. The array doubles
+	 * whenever it is half full.
+	 */
+	private static class LongMap {
+		private long[] table;
+		private int shift;
+		private int size;
+		private boolean hasZero;
+		private long zeroValue;
+
+		LongMap(int expectedSize) {
+			// at most half the slots are used, and the array can hold 2^30 longs
+			final int bits = Math.min(29, Math.max(10, 65 - Long.numberOfLeadingZeros(expectedSize)));
+			table = new long[2 << bits];
+			shift = 64 - bits;
+		}
+
+		/**
+		 * Maps key to value, unless key is already mapped.
+		 * 
+		 * @return true iff key was not already mapped
+		 */
+		boolean putIfAbsent(long key, long value) {
+			if (key == 0) {
+				if (hasZero) {
+					return false;
+				}
+				hasZero = true;
+				zeroValue = value;
+				return true;
+			}
+			final int mask = table.length - 1;
+			int slot = slot(key);
+			for (long found; (found = table[slot]) != 0; slot = (slot + 2) & mask) {
+				if (found == key) {
+					return false;
+				}
+			}
+			table[slot] = key;
+			table[slot + 1] = value;
+			size++;
+			if (4 * size > table.length) {
+				grow();
+			}
+			return true;
+		}
+
+		/**
+		 * @return the value of a key that is mapped
+		 */
+		long get(long key) {
+			if (key == 0) {
+				return zeroValue;
+			}
+			int slot = slot(key);
+			while (table[slot] != key) {
+				slot = (slot + 2) & (table.length - 1);
+			}
+			return table[slot + 1];
+		}
+
+		private int slot(long key) {
+			return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift) << 1;
+		}
+
+		private void grow() {
+			final long[] old = table;
+			table = new long[2 * old.length];
+			shift--;
+			size = 0;
+			for (int i = 0; i < old.length; i += 2) {
+				if (old[i] != 0) {
+					putIfAbsent(old[i], old[i + 1]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A first-in, first-out queue of longs in a circular array, whose
+	 * capacity doubles whenever it fills.
+	 */
+	private static class LongRingBuffer {
+		private long[] items = new long[64];
+		private int head;
+		private int size;
+
+		void add(long item) {
+			if (size == items.length) {
+				final long[] grown = new long[2 * items.length];
+				for (int i = 0; i < size; i++) {
+					grown[i] = items[(head + i) & (items.length - 1)];
+				}
+				items = grown;
+				head = 0;
+			}
+			items[(head + size) & (items.length - 1)] = item;
+			size++;
+		}
+
+		long remove() {
+			final long item = items[head];
+			head = (head + 1) & (items.length - 1);
+			size--;
+			return item;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An implementation of a Searcher that performs a level-synchronous
+ * breadth-first search, expanding all the states of each level in parallel
+ * on a ForkJoinPool.
+ * 
+ * The states of a level are split into chunks that are expanded
+ * concurrently; a state reached from several states of the same level is
+ * claimed by whichever chunk records it first in a concurrent map of
+ * predecessors. The next level is not started until the current one is
+ * complete, so every state is still found at its breadth-first depth, and
+ * the solution has the same length as the one found by Searcher.
+ * 
+ * The underlying problem's getSuccessors() and isGoal() will be called from
+ * several threads at once, and so must be safe for concurrent reads.
+ * 
+ * @author liberato
+ *
+ * @param <T> the type for each vertex in the search graph
+ */
+public class ParallelSearcher<T> extends Searcher<T> {
+	private static final int CHUNK_SIZE = 64;
+
+	private final SearchProblem<T> searchProblem;
+	private final ForkJoinPool pool;
+
+	/**
+	 * Instantiates a searcher that uses the common ForkJoinPool.
+	 * 
+	 * @param searchProblem
+	 *            the search problem for which this searcher will find and
+	 *            validate solutions
+	 */
+	public ParallelSearcher(SearchProblem<T> searchProblem) {
+		this(searchProblem, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Instantiates a searcher.
+	 * 
+	 * @param searchProblem
+	 *            the search problem for which this searcher will find and
+	 *            validate solutions
+	 * @param pool
+	 *            the pool on which to expand each level
+	 */
+	public ParallelSearcher(SearchProblem<T> searchProblem, ForkJoinPool pool) {
+		super(searchProblem);
+		this.searchProblem = searchProblem;
+		this.pool = pool;
+	}
+
+	/**
+	 * Finds and return a shortest solution to the problem from the given
+	 * state, consisting of a list of states.
+	 * 
+	 * If there is no solution, then this method returns an empty list.
+	 * 
+	 * @param initialState
+	 *            the state from which to search
+	 * @return a solution from initialState (or an empty list)
+	 */
+	@Override
+	public List<T> findSolutionFrom(T initialState) {
+		if (searchProblem.isGoal(initialState)) {
+			return new ArrayList<>(Collections.singletonList(initialState));
+		}
+
+		// ConcurrentHashMap does not allow null values, so the initial state
+		// is recorded as its own predecessor
+		final Map<T, T> predState = new ConcurrentHashMap<>();
+		predState.put(initialState, initialState);
+		final AtomicReference<T> goal = new AtomicReference<>();
+
+		List<T> frontier = new ArrayList<>(Collections.singletonList(initialState));
+		while (!frontier.isEmpty() && goal.get() == null) {
+			frontier = pool.invoke(new ExpandTask(frontier, 0, frontier.size(), predState, goal));
+		}
+		if (goal.get() == null) {
+			return new ArrayList<>();
+		}
+		predState.remove(initialState);
+		return buildPath(predState, goal.get());
+	}
+
+	private class ExpandTask extends RecursiveTask<List<T>> {
+		private static final long serialVersionUID = 1L;
+
+		private final List<T> frontier;
+		private final int from;
+		private final int to;
+		private final Map<T, T> predState;
+		private final AtomicReference<T> goal;
+
+		ExpandTask(List<T> frontier, int from, int to, Map<T, T> predState, AtomicReference<T> goal) {
+			this.frontier = frontier;
+			this.from = from;
+			this.to = to;
+			this.predState = predState;
+			this.goal = goal;
+		}
+
+		@Override
+		protected List<T> compute() {
+			if (to - from > CHUNK_SIZE) {
+				final int middle = (from + to) >>> 1;
+				final ExpandTask left = new ExpandTask(frontier, from, middle, predState, goal);
+				left.fork();
+				final List<T> next = new ExpandTask(frontier, middle, to, predState, goal).compute();
+				final List<T> leftNext = left.join();
+				leftNext.addAll(next);
+				return leftNext;
+			}
+
+			final List<T> next = new ArrayList<>();
+			for (int i = from; i < to && goal.get() == null; i++) {
+				final T state = frontier.get(i);
+				for (T nextState : searchProblem.getSuccessors(state)) {
+					if (predState.putIfAbsent(nextState, state) == null) {
+						next.add(nextState);
+						if (searchProblem.isGoal(nextState)) {
+							goal.compareAndSet(null, nextState);
+						}
+					}
+				}
+			}
+			return next;
+		}
+	}
+}
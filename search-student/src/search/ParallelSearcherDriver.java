@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import mazes.Cell;
+import mazes.Maze;
+import mazes.MazeGenerator;
+
+/**
+ * Reports how the running time of ParallelSearcher scales with the number of
+ * threads, on a generated maze.
+ * 
+ * Usage: ParallelSearcherDriver [width] [height] [maxThreads]
+ */
+public class ParallelSearcherDriver {
+	public static void main(String[] args) {
+		int width = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+		int height = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+		int maxThreads = args.length > 2 ? Integer.parseInt(args[2])
+				: Runtime.getRuntime().availableProcessors();
+
+		Maze maze = new MazeGenerator(width, height, 0).generateDfs();
+		long begin = System.nanoTime();
+		int expected = new Searcher<Cell>(maze).findSolution().size();
+		System.out.printf("sequential: %d states in solution, %.1f ms%n", expected,
+				(System.nanoTime() - begin) / 1e6);
+
+		for (int threads = 1; threads <= maxThreads; threads *= 2) {
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			ParallelSearcher<Cell> searcher = new ParallelSearcher<Cell>(maze, pool);
+			// one untimed run to warm up
+			searcher.findSolution();
+			begin = System.nanoTime();
+			List<Cell> solution = searcher.findSolution();
+			double millis = (System.nanoTime() - begin) / 1e6;
+			pool.shutdown();
+			System.out.printf("%2d threads: %d states in solution, %.1f ms%n", threads,
+					solution.size(), millis);
+			if (solution.size() != expected) {
+				throw new AssertionError("solution length differs from sequential search");
+			}
+		}
+	}
+}
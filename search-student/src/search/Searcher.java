@@ -5,6 +5,12 @@
 package search;
 
 import java.util.*;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * An implementation of a Searcher that performs an iterative search,
@@ -42,34 +48,152 @@ public class Searcher<T> {
 	 * 
 	 * @return a solution to the problem (or an empty list)
 	 */
-	public List<T> findSolution() {		
-		// TODO
-		Queue<T> initialState = new LinkedList<>();
-		initialState.add(searchProblem.getInitialState());
-
-		Map<T, T> predState = new HashMap<>();
-		predState.put(searchProblem.getInitialState(), null);
-		
-		List<T> solutionPath = new ArrayList<>();
-		while (!initialState.isEmpty()) {
-			T currStage = initialState.remove();
-			if (searchProblem.isGoal(currStage)) {
-				solutionPath.add(currStage);
-				T previousState = predState.get(currStage);
-				while (previousState != null) {
-					solutionPath.add(0, previousState);
-					previousState = predState.get(previousState);
-				}
-				break;
+	public List<T> findSolution() {
+		return findSolutionFrom(searchProblem.getInitialState());
+	}
+
+	/**
+	 * Finds a solution to the problem as findSolution() does, but starting
+	 * from the given state rather than the problem's initial state. This
+	 * class searches breadth-first; subclasses that search differently should
+	 * override this method if they are to be used with solveAll().
+	 * 
+	 * The search keeps all of its bookkeeping in local variables, so several
+	 * threads may call this at once, as long as the problem is safe to read
+	 * from several threads.
+	 * 
+	 * @param initialState
+	 *            the state from which to search
+	 * @return a solution from initialState (or an empty list)
+	 */
+	public List<T> findSolutionFrom(T initialState) {
+		final Expander expander = new Expander();
+		expander.predState.put(initialState, null);
+		expander.queue.add(initialState);
+
+		while (!expander.queue.isEmpty()) {
+			final T currentState = expander.queue.remove();
+			if (searchProblem.isGoal(currentState)) {
+				return buildPath(expander.predState, currentState);
 			}
-			for (T nextState : searchProblem.getSuccessors(currStage)) {
-				if (!predState.containsKey(nextState)) {
-					initialState.add(nextState);
-					predState.put(nextState, currStage);
+			expander.currentState = currentState;
+			searchProblem.forEachSuccessor(currentState, expander);
+		}
+		return new ArrayList<>();
+	}
+
+	/**
+	 * The solution found from one start state by solveAll().
+	 */
+	public static class Solution<T> {
+		public final T start;
+		public final List<T> path;
+
+		Solution(T start, List<T> path) {
+			this.start = start;
+			this.path = path;
+		}
+
+		@Override
+		public String toString() {
+			return "Solution [start=" + start + ", length=" + path.size() + "]";
+		}
+	}
+
+	/**
+	 * Solves the problem from each of the given start states on the common
+	 * ForkJoinPool; see solveAll(Collection, ExecutorService).
+	 * 
+	 * @param starts
+	 * @return the solutions, in the order in which they are found
+	 */
+	public Iterator<Solution<T>> solveAll(Collection<? extends T> starts) {
+		return solveAll(starts, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Solves the problem from each of the given start states, by submitting a
+	 * call to findSolutionFrom() per start to the executor. The solutions are
+	 * returned as they are found, which need not be the order of the starts;
+	 * next() blocks until another one is ready.
+	 * 
+	 * All of the searches share this searcher's problem, which must be safe to
+	 * read from several threads at once.
+	 * 
+	 * @param starts
+	 * @param executor
+	 *            the executor on which to run the searches
+	 * @return the solutions, in the order in which they are found
+	 */
+	public Iterator<Solution<T>> solveAll(Collection<? extends T> starts, ExecutorService executor) {
+		final CompletionService<Solution<T>> completion = new ExecutorCompletionService<>(executor);
+		for (T start : starts) {
+			completion.submit(() -> new Solution<T>(start, findSolutionFrom(start)));
+		}
+		final int count = starts.size();
+		return new Iterator<Solution<T>>() {
+			private int returned = 0;
+
+			@Override
+			public boolean hasNext() {
+				return returned < count;
+			}
+
+			@Override
+			public Solution<T> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				try {
+					final Solution<T> solution = completion.take().get();
+					returned++;
+					return solution;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while waiting for a solution", e);
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof RuntimeException) {
+						throw (RuntimeException) e.getCause();
+					}
+					if (e.getCause() instanceof Error) {
+						throw (Error) e.getCause();
+					}
+					throw new IllegalStateException(e.getCause());
 				}
 			}
+		};
+	}
+
+	/**
+	 * Records each not-yet-seen successor of the state being expanded. One
+	 * instance is reused for every expansion, so that a search does not
+	 * allocate a list (or a lambda) per state.
+	 */
+	private class Expander implements Consumer<T> {
+		final Queue<T> queue = new ArrayDeque<>();
+		final Map<T, T> predState = new HashMap<>();
+		T currentState;
+
+		@Override
+		public void accept(T nextState) {
+			if (!predState.containsKey(nextState)) {
+				queue.add(nextState);
+				predState.put(nextState, currentState);
+			}
+		}
+	}
+
+	/**
+	 * Walks a predecessor map back from the given goal to the state with no
+	 * predecessor, and returns the states in order from that state to goal.
+	 */
+	static <T> List<T> buildPath(Map<T, T> predState, T goal) {
+		final List<T> path = new ArrayList<>();
+		for (T state = goal; state != null; state = predState.get(state)) {
+			path.add(state);
 		}
-		return solutionPath;
+		Collections.reverse(path);
+		return path;
 	}
 
 	/**
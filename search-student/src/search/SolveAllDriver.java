@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import mazes.Cell;
+import mazes.Maze;
+import mazes.MazeGenerator;
+
+/**
+ * Reports the throughput of Searcher.solveAll() on batches of random starts
+ * against one shared maze, with executors of 1, 8 and 32 threads, next to
+ * solving the same starts one after another.
+ * 
+ * Usage: SolveAllDriver [side [starts]]
+ */
+public class SolveAllDriver {
+	public static void main(String[] args) {
+		final int side = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		final int count = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+		final Maze maze = new MazeGenerator(side, side, 0).generateDfs().freeze();
+		final Random random = new Random(0);
+		final List<Cell> starts = new ArrayList<Cell>();
+		for (int i = 0; i < count; i++) {
+			starts.add(new Cell(random.nextInt(side), random.nextInt(side)));
+		}
+		final Searcher<Cell> searcher = new Searcher<Cell>(maze);
+		System.out.printf("%d x %d maze, %d starts, %d available processors%n", side, side, count,
+				Runtime.getRuntime().availableProcessors());
+		// warm up
+		for (int i = 0; i < 200; i++) {
+			searcher.findSolutionFrom(starts.get(i % count));
+		}
+
+		long begin = System.nanoTime();
+		long states = 0;
+		for (Cell start : starts) {
+			states += searcher.findSolutionFrom(start).size();
+		}
+		report("serial", begin, count, states);
+
+		for (int threads : new int[] { 1, 8, 32 }) {
+			final ExecutorService executor = Executors.newFixedThreadPool(threads);
+			begin = System.nanoTime();
+			states = 0;
+			for (Iterator<Searcher.Solution<Cell>> it = searcher.solveAll(starts, executor); it.hasNext();) {
+				states += it.next().path.size();
+			}
+			report(threads + " thread(s)", begin, count, states);
+			executor.shutdown();
+		}
+	}
+
+	private static void report(String name, long begin, int count, long states) {
+		final double seconds = (System.nanoTime() - begin) / 1e9;
+		System.out.printf("%-12s %8.1f ms %10.0f solutions/s [%d states]%n", name, seconds * 1e3, count / seconds,
+				states);
+	}
+}
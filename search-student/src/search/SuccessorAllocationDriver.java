@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import integers.FindIntegersProblem;
+import mazes.Cell;
+import mazes.Maze;
+import mazes.MazeGenerator;
+import puzzle.EightPuzzle;
+
+/**
+ * Reports the bytes allocated per call by getSuccessors() and by
+ * forEachSuccessor() for each of the search problems, measured with the
+ * HotSpot per-thread allocation counter.
+ */
+public class SuccessorAllocationDriver {
+	private static final int CALLS = 1000000;
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	public static void main(String[] args) {
+		Maze maze = new MazeGenerator(30, 30, 0).generateDfs();
+		FindIntegersProblem integers = new FindIntegersProblem(7, -4, true);
+		EightPuzzle puzzle = new EightPuzzle(Arrays.asList(1, 2, 3, 4, 0, 6, 7, 5, 8));
+
+		for (int round = 0; round < 3; round++) {
+			System.out.println("round " + round);
+			report("Maze", maze, maze.getInitialState());
+			report("FindIntegersProblem", integers, 3);
+			report("EightPuzzle", puzzle, puzzle.getInitialState());
+		}
+	}
+
+	private static <T> void report(String name, SearchProblem<T> problem, T state) {
+		final long[] count = new long[1];
+		final Consumer<T> sink = successor -> count[0]++;
+
+		long before = allocatedBytes();
+		for (int i = 0; i < CALLS; i++) {
+			List<T> successors = problem.getSuccessors(state);
+			count[0] += successors.size();
+		}
+		double listBytes = (double) (allocatedBytes() - before) / CALLS;
+
+		before = allocatedBytes();
+		for (int i = 0; i < CALLS; i++) {
+			problem.forEachSuccessor(state, sink);
+		}
+		double streamBytes = (double) (allocatedBytes() - before) / CALLS;
+
+		System.out.printf("  %-20s getSuccessors: %6.1f B/call  forEachSuccessor: %6.1f B/call  (%d)%n", name,
+				listBytes, streamBytes, count[0]);
+	}
+
+	private static long allocatedBytes() {
+		return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
@@ -7,16 +7,23 @@ package graphs;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public abstract class BaseGraph<V> implements GraphInterface<V> {
 	protected ArrayList<V> vertices;
+	// the index of each vertex in vertices; kept in step by addVertex
+	private final Map<V, Integer> indices;
 
 	public BaseGraph(int maxV) {
 		vertices = new ArrayList<V>(maxV);
+		indices = new HashMap<V, Integer>(Math.max(16, (int) (maxV / 0.75f) + 1));
 	}
 
 	public BaseGraph() {
 		vertices = new ArrayList<V>();
+		indices = new HashMap<V, Integer>();
 	}
 
 	public int getNumVertices() {
@@ -28,23 +35,34 @@ public abstract class BaseGraph<V> implements GraphInterface<V> {
 	}
 
 	public void addVertex(V vertex) {
+		// like vertices.indexOf, a repeated vertex keeps its first index
+		indices.putIfAbsent(vertex, vertices.size());
 		vertices.add(vertex);
 	}
 
 	protected int indexOf(V vertex) {
-		return vertices.indexOf(vertex);
+		Integer result = indices.get(vertex);
+		return result == null ? -1 : result;
 	}
 
 	protected int getIndexOf(V vertex) {
-		int result = vertices.indexOf(vertex);
-		if (result < 0) {
+		Integer result = indices.get(vertex);
+		if (result == null) {
 			throw new GraphException("Vertex not in graph: " + vertex);
 		}
 		return result;
 	}
 
+	public int vertexIndex(V vertex) {
+		return getIndexOf(vertex);
+	}
+
+	public V vertexAt(int index) {
+		return vertices.get(index);
+	}
+
 	public boolean hasVertex(V vertex) {
-		return vertices.contains(vertex);
+		return indices.containsKey(vertex);
 	}
 
 	public List<V> getVertices() {
@@ -66,6 +84,38 @@ public abstract class BaseGraph<V> implements GraphInterface<V> {
 		return neighbors;
 	}
 
+	public void forEachNeighbor(V from, Consumer<? super V> sink) {
+		int fromIndex = getIndexOf(from);
+		for (int i = 0; i < vertices.size(); i += 1) {
+			if (hasEdge(fromIndex, i)) {
+				sink.accept(vertices.get(i));
+			}
+		}
+	}
+
+	public IntIterator neighborIndices(final int fromIndex) {
+		return new IntIterator() {
+			private int next = advance(0);
+
+			private int advance(int i) {
+				while (i < vertices.size() && !hasEdge(fromIndex, i)) {
+					i++;
+				}
+				return i;
+			}
+
+			public boolean hasNext() {
+				return next < vertices.size();
+			}
+
+			public int nextInt() {
+				int result = next;
+				next = advance(next + 1);
+				return result;
+			}
+		};
+	}
+
 	public boolean hasEdge(V from, V to) {
 		return hasEdge(getIndexOf(from), getIndexOf(to));
 	}
@@ -73,6 +123,13 @@ public abstract class BaseGraph<V> implements GraphInterface<V> {
 	protected abstract boolean hasEdge(int fromIndex, int toIndex);
 
 	public GraphMarker<V> getMarker() {
-		return new BaseGraphMarker<V>(this);
+		return new BitSetGraphMarker<V>(this);
+	}
+
+	/**
+	 * @return a marker that several threads may use at once
+	 */
+	public ConcurrentGraphMarker<V> getConcurrentMarker() {
+		return new ConcurrentGraphMarker<V>(this);
 	}
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package graphs;
+
+import java.util.Arrays;
+
+/**
+ * A GraphMarker that keeps one bit per vertex, packed into longs, along with
+ * a running count of the marked vertices, so that countMarked() is O(1).
+ * 
+ * clearMarks() is also O(1): each word of bits is stamped with the
+ * generation in which it was last written, and a word whose stamp is older
+ * than the current generation is read as all zeros. Clearing just starts a
+ * new generation, so a single marker can be reused across many traversals.
+ * 
+ * Vertices are found by the graph's vertexIndex.
+ */
+public class BitSetGraphMarker<V> implements GraphMarker<V> {
+	private final GraphInterface<V> graph;
+	private final long[] bits;
+	private final int[] stamps;
+	private int generation = 1;
+	private int count;
+
+	public BitSetGraphMarker(GraphInterface<V> graph) {
+		this.graph = graph;
+		int words = (graph.getNumVertices() + 63) >>> 6;
+		bits = new long[words];
+		stamps = new int[words];
+	}
+
+	public void clearMarks() {
+		count = 0;
+		generation++;
+		if (generation == 0) {
+			// after 2^32 clears the stamps wrap around; start them over
+			Arrays.fill(stamps, 0);
+			generation = 1;
+		}
+	}
+
+	public void mark(V vertex) {
+		tryMark(vertex);
+	}
+
+	/**
+	 * Marks the vertex.
+	 * 
+	 * @return true iff the vertex was not already marked
+	 */
+	public boolean tryMark(V vertex) {
+		int index = graph.vertexIndex(vertex);
+		long word = word(index >>> 6);
+		long bit = 1L << index;
+		if ((word & bit) != 0) {
+			return false;
+		}
+		bits[index >>> 6] = word | bit;
+		count++;
+		return true;
+	}
+
+	public void unmark(V vertex) {
+		int index = graph.vertexIndex(vertex);
+		long word = word(index >>> 6);
+		long bit = 1L << index;
+		if ((word & bit) != 0) {
+			bits[index >>> 6] = word & ~bit;
+			count--;
+		}
+	}
+
+	public boolean isMarked(V vertex) {
+		int index = graph.vertexIndex(vertex);
+		return (word(index >>> 6) & (1L << index)) != 0;
+	}
+
+	public int countMarked() {
+		return count;
+	}
+
+	/**
+	 * Returns the current bits of a word, first zeroing it if it was last
+	 * written in an earlier generation.
+	 */
+	private long word(int w) {
+		if (stamps[w] != generation) {
+			stamps[w] = generation;
+			bits[w] = 0;
+		}
+		return bits[w];
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package graphs;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A GraphMarker that may be marked and read by several threads at once, for
+ * parallel traversals. It keeps one bit per vertex in an AtomicLongArray,
+ * updated by compare-and-set, and a running count of the marked vertices.
+ * 
+ * tryMark() tells exactly one of several threads racing to mark the same
+ * vertex that it was the one to mark it. clearMarks() takes time proportional
+ * to the number of vertices, and must not run at the same time as any other
+ * method.
+ * 
+ * Vertices are found by the graph's vertexIndex, so the graph must also be
+ * safe to read from several threads.
+ */
+public class ConcurrentGraphMarker<V> implements GraphMarker<V> {
+	private final GraphInterface<V> graph;
+	private final AtomicLongArray bits;
+	private final AtomicInteger count = new AtomicInteger();
+
+	public ConcurrentGraphMarker(GraphInterface<V> graph) {
+		this.graph = graph;
+		bits = new AtomicLongArray((graph.getNumVertices() + 63) >>> 6);
+	}
+
+	public void clearMarks() {
+		for (int i = 0; i < bits.length(); i++) {
+			bits.set(i, 0);
+		}
+		count.set(0);
+	}
+
+	public void mark(V vertex) {
+		tryMark(vertex);
+	}
+
+	/**
+	 * Marks the vertex.
+	 * 
+	 * @return true iff the vertex was not already marked
+	 */
+	public boolean tryMark(V vertex) {
+		int index = graph.vertexIndex(vertex);
+		long bit = 1L << index;
+		while (true) {
+			long word = bits.get(index >>> 6);
+			if ((word & bit) != 0) {
+				return false;
+			}
+			if (bits.compareAndSet(index >>> 6, word, word | bit)) {
+				count.incrementAndGet();
+				return true;
+			}
+		}
+	}
+
+	public void unmark(V vertex) {
+		int index = graph.vertexIndex(vertex);
+		long bit = 1L << index;
+		while (true) {
+			long word = bits.get(index >>> 6);
+			if ((word & bit) == 0) {
+				return;
+			}
+			if (bits.compareAndSet(index >>> 6, word, word & ~bit)) {
+				count.decrementAndGet();
+				return;
+			}
+		}
+	}
+
+	public boolean isMarked(V vertex) {
+		int index = graph.vertexIndex(vertex);
+		return (bits.get(index >>> 6) & (1L << index)) != 0;
+	}
+
+	public int countMarked() {
+		return count.get();
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package graphs;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * An immutable snapshot of an unweighted graph, in compressed sparse row
+ * form: the neighbors of every vertex are stored one after another, sorted by
+ * index, in a single int array, and the neighbors of the vertex with index i
+ * are targets[offsets[i]] to targets[offsets[i + 1] - 1].
+ * 
+ * This takes four bytes per edge, lays each vertex's neighbors out
+ * contiguously, and allows hasEdge by binary search. Since nothing in it can
+ * change after construction, and all of its fields are final, a CsrGraph can
+ * be read by any number of threads at once without locking.
+ * 
+ * @author liberato
+ *
+ * @param <V>
+ *            the type of each vertex
+ */
+public class CsrGraph<V> implements UnweightedGraphInterface<V> {
+	private final List<V> vertices;
+	private final Map<V, Integer> indices;
+	private final int[] offsets;
+	private final int[] targets;
+
+	private CsrGraph(List<V> vertices, Map<V, Integer> indices, int[] offsets, int[] targets) {
+		this.vertices = vertices;
+		this.indices = indices;
+		this.offsets = offsets;
+		this.targets = targets;
+	}
+
+	/**
+	 * Returns a snapshot of the given graph. Later changes to that graph are
+	 * not reflected in the snapshot.
+	 * 
+	 * @param graph
+	 * @return the snapshot
+	 */
+	public static <V> CsrGraph<V> copyOf(GraphInterface<V> graph) {
+		final int n = graph.getNumVertices();
+		final List<V> vertices = new ArrayList<V>(n);
+		final Map<V, Integer> indices = new HashMap<V, Integer>(Math.max(16, (int) (n / 0.75f) + 1));
+		for (int i = 0; i < n; i++) {
+			final V vertex = graph.vertexAt(i);
+			vertices.add(vertex);
+			indices.putIfAbsent(vertex, i);
+		}
+
+		final int[] offsets = new int[n + 1];
+		int[] targets = new int[Math.max(16, 4 * n)];
+		int count = 0;
+		for (int i = 0; i < n; i++) {
+			for (IntIterator it = graph.neighborIndices(i); it.hasNext();) {
+				if (count == targets.length) {
+					targets = Arrays.copyOf(targets, 2 * count);
+				}
+				targets[count++] = it.nextInt();
+			}
+			offsets[i + 1] = count;
+			Arrays.sort(targets, offsets[i], count);
+		}
+		return new CsrGraph<V>(Collections.unmodifiableList(vertices), indices, offsets,
+				Arrays.copyOf(targets, count));
+	}
+
+	public int getNumVertices() {
+		return vertices.size();
+	}
+
+	/**
+	 * @return the number of (directed) edges in the graph
+	 */
+	public int getNumEdges() {
+		return targets.length;
+	}
+
+	public boolean isEmpty() {
+		return vertices.isEmpty();
+	}
+
+	/**
+	 * @throws UnsupportedOperationException
+	 *             always; a CsrGraph cannot be changed
+	 */
+	public void addVertex(V vertex) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * @throws UnsupportedOperationException
+	 *             always; a CsrGraph cannot be changed
+	 */
+	public void addEdge(V fromVertex, V toVertex) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Does nothing, as a CsrGraph never changes.
+	 */
+	public void addEdgeListener(EdgeListener<? super V> listener) {
+	}
+
+	public void removeEdgeListener(EdgeListener<? super V> listener) {
+	}
+
+	public boolean hasVertex(V vertex) {
+		return indices.containsKey(vertex);
+	}
+
+	public List<V> getVertices() {
+		return new ArrayList<V>(vertices);
+	}
+
+	public Iterator<V> vertexIterator() {
+		return vertices.iterator();
+	}
+
+	public boolean hasEdge(V from, V to) {
+		final int fromIndex = vertexIndex(from);
+		return Arrays.binarySearch(targets, offsets[fromIndex], offsets[fromIndex + 1], vertexIndex(to)) >= 0;
+	}
+
+	/**
+	 * Lists the neighbors in order of their index.
+	 */
+	public List<V> getNeighbors(V vertex) {
+		final int index = vertexIndex(vertex);
+		final List<V> neighbors = new ArrayList<V>(offsets[index + 1] - offsets[index]);
+		for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+			neighbors.add(vertices.get(targets[i]));
+		}
+		return neighbors;
+	}
+
+	public void forEachNeighbor(V vertex, Consumer<? super V> sink) {
+		final int index = vertexIndex(vertex);
+		for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+			sink.accept(vertices.get(targets[i]));
+		}
+	}
+
+	public GraphMarker<V> getMarker() {
+		return new BitSetGraphMarker<V>(this);
+	}
+
+	public int vertexIndex(V vertex) {
+		final Integer index = indices.get(vertex);
+		if (index == null) {
+			throw new GraphException("Vertex not in graph: " + vertex);
+		}
+		return index;
+	}
+
+	public V vertexAt(int index) {
+		return vertices.get(index);
+	}
+
+	public IntIterator neighborIndices(final int index) {
+		return new IntIterator() {
+			private int next = offsets[index];
+
+			public boolean hasNext() {
+				return next < offsets[index + 1];
+			}
+
+			public int nextInt() {
+				return targets[next++];
+			}
+		};
+	}
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package graphs;
+
+/**
+ * Is told of each edge added to a graph it has been registered with, so that
+ * anything computed from the graph can be repaired rather than rebuilt.
+ * 
+ * @author liberato
+ *
+ * @param <V>
+ *            the type of each vertex
+ */
+public interface EdgeListener<V> {
+	/**
+	 * Called after an edge has been added.
+	 * 
+	 * @param fromVertex
+	 * @param toVertex
+	 */
+	void edgeAdded(V fromVertex, V toVertex);
+}
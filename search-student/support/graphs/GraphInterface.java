@@ -6,6 +6,7 @@ package graphs;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface GraphInterface<V> {
 	int getNumVertices();
@@ -24,5 +25,26 @@ public interface GraphInterface<V> {
 
 	List<V> getNeighbors(V vertex);
 
+	default void forEachNeighbor(V vertex, Consumer<? super V> sink) {
+		for (V neighbor : getNeighbors(vertex)) {
+			sink.accept(neighbor);
+		}
+	}
+
 	GraphMarker<V> getMarker();
+
+	/**
+	 * @return the index of the vertex, from 0 to getNumVertices() - 1
+	 * @throws GraphException
+	 *             if the vertex is not in the graph
+	 */
+	int vertexIndex(V vertex);
+
+	V vertexAt(int index);
+
+	/**
+	 * @return the indices of the neighbors of the vertex with the given
+	 *         index, in the same order as getNeighbors()
+	 */
+	IntIterator neighborIndices(int index);
 }
@@ -0,0 +1,14 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package graphs;
+
+/**
+ * An iterator over a sequence of ints that does not box them.
+ */
+public interface IntIterator {
+	boolean hasNext();
+
+	int nextInt();
+}
@@ -6,7 +6,7 @@ package graphs;
 
 import java.util.Iterator;
 
-public class IntegerNodeIterator implements Iterator<Integer> {
+public class IntegerNodeIterator implements Iterator<Integer>, IntIterator {
 	private IntegerNode next;
 
 	public IntegerNodeIterator(IntegerNode first) {
@@ -18,6 +18,10 @@ public class IntegerNodeIterator implements Iterator<Integer> {
 	}
 
 	public Integer next() {
+		return nextInt();
+	}
+
+	public int nextInt() {
 		int result = next.getData();
 		next = next.getNext();
 		return result;
@@ -6,4 +6,14 @@ package graphs;
 
 public interface UnweightedGraphInterface<V> extends GraphInterface<V> {
 	void addEdge(V fromVertex, V toVertex);
+
+	/**
+	 * Registers a listener to be told of every edge added from now on. A
+	 * graph that cannot be changed may ignore its listeners.
+	 * 
+	 * @param listener
+	 */
+	void addEdgeListener(EdgeListener<? super V> listener);
+
+	void removeEdgeListener(EdgeListener<? super V> listener);
 }
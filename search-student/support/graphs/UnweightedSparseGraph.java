@@ -4,8 +4,13 @@
 
 package graphs;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
 public class UnweightedSparseGraph<V> extends BaseGraph<V> implements UnweightedGraphInterface<V> {
 	private IntegerNode[] edges;
+	private final List<EdgeListener<? super V>> listeners = new ArrayList<EdgeListener<? super V>>();
 
 	public UnweightedSparseGraph(int maxVertices) {
 		super(maxVertices);
@@ -21,9 +26,69 @@ public class UnweightedSparseGraph<V> extends BaseGraph<V> implements Unweighted
 		return false;
 	}
 
+	/**
+	 * Lists the neighbors by walking the vertex's adjacency list, which
+	 * addEdge keeps in increasing order of vertex index, the order in which
+	 * BaseGraph lists them. neighborIndices and forEachNeighbor use the same
+	 * order.
+	 */
+	public List<V> getNeighbors(V from) {
+		List<V> neighbors = new ArrayList<V>();
+		for (IntegerNode node = edges[getIndexOf(from)]; node != null; node = node.getNext()) {
+			neighbors.add(vertices.get(node.getData()));
+		}
+		return neighbors;
+	}
+
+	public IntIterator neighborIndices(int fromIndex) {
+		return new IntegerNodeIterator(edges[fromIndex]);
+	}
+
+	public void forEachNeighbor(V from, Consumer<? super V> sink) {
+		for (IntegerNode node = edges[getIndexOf(from)]; node != null; node = node.getNext()) {
+			sink.accept(vertices.get(node.getData()));
+		}
+	}
+
+	/**
+	 * @return an immutable, thread-safe snapshot of this graph
+	 */
+	public CsrGraph<V> freeze() {
+		return CsrGraph.copyOf(this);
+	}
+
+	/**
+	 * Adds an edge, keeping the adjacency list sorted by vertex index. Adding
+	 * an edge that is already present does nothing, and listeners are not
+	 * told of it.
+	 */
 	public void addEdge(V from, V to) {
 		int fromIndex = getIndexOf(from);
 		int toIndex = getIndexOf(to);
-		edges[fromIndex] = new IntegerNode(toIndex, edges[fromIndex]);
+		IntegerNode previous = null;
+		IntegerNode node = edges[fromIndex];
+		while (node != null && node.getData() < toIndex) {
+			previous = node;
+			node = node.getNext();
+		}
+		if (node != null && node.getData() == toIndex) {
+			return;
+		}
+		if (previous == null) {
+			edges[fromIndex] = new IntegerNode(toIndex, node);
+		} else {
+			previous.setNext(new IntegerNode(toIndex, node));
+		}
+		for (EdgeListener<? super V> listener : listeners) {
+			listener.edgeAdded(from, to);
+		}
+	}
+
+	public void addEdgeListener(EdgeListener<? super V> listener) {
+		listeners.add(listener);
+	}
+
+	public void removeEdgeListener(EdgeListener<? super V> listener) {
+		listeners.remove(listener);
 	}
 }
@@ -7,6 +7,7 @@ package integers;
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import search.SearchProblem;
 
@@ -39,6 +40,17 @@ public class FindIntegersProblem implements SearchProblem<Integer> {
 		}
 	}
 
+	@Override
+	public void forEachSuccessor(Integer currentState, Consumer<? super Integer> sink) {
+		if (positivesFirst) {
+			sink.accept(currentState + 1);
+			sink.accept(currentState - 1);
+		} else {
+			sink.accept(currentState - 1);
+			sink.accept(currentState + 1);
+		}
+	}
+
 	@Override
 	public boolean isGoal(Integer state) {
 		return (state.equals(negativeGoal) || state.equals(positiveGoal));
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package mazes;
+
+import search.StateCodec;
+
+/**
+ * Encodes a Cell as its two coordinates, each a big-endian four-byte int.
+ * 
+ * @author liberato
+ *
+ */
+public class CellCodec implements StateCodec<Cell> {
+	@Override
+	public int width() {
+		return 8;
+	}
+
+	@Override
+	public void encode(Cell state, byte[] bytes, int offset) {
+		writeInt(state.posX, bytes, offset);
+		writeInt(state.posY, bytes, offset + 4);
+	}
+
+	@Override
+	public Cell decode(byte[] bytes, int offset) {
+		return new Cell(readInt(bytes, offset), readInt(bytes, offset + 4));
+	}
+
+	private static void writeInt(int value, byte[] bytes, int offset) {
+		bytes[offset] = (byte) (value >>> 24);
+		bytes[offset + 1] = (byte) (value >>> 16);
+		bytes[offset + 2] = (byte) (value >>> 8);
+		bytes[offset + 3] = (byte) value;
+	}
+
+	private static int readInt(byte[] bytes, int offset) {
+		return (bytes[offset] << 24) | ((bytes[offset + 1] & 0xFF) << 16) | ((bytes[offset + 2] & 0xFF) << 8)
+				| (bytes[offset + 3] & 0xFF);
+	}
+}
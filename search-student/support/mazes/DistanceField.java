@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package mazes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import graphs.IntIterator;
+
+/**
+ * The distance from every cell of a maze to its nearest goal, along with the
+ * direction of the first step of a shortest path there. Both are found by a
+ * single breadth-first search outward from all the goals at once (passages
+ * run in both directions, so this follows them in reverse), after which a
+ * shortest path from any start is found by following the steps, in time
+ * proportional to its length.
+ * 
+ * The field takes an int and a byte per cell. If the maze's passages change,
+ * call rebuild().
+ * 
+ * @author liberato
+ *
+ */
+public class DistanceField {
+	private static final byte NONE = -1;
+	private static final byte NORTH = 0;
+	private static final byte SOUTH = 1;
+	private static final byte WEST = 2;
+	private static final byte EAST = 3;
+
+	private final Maze maze;
+	private final int height;
+	private final int[] distances;
+	private final byte[] nextSteps;
+
+	/**
+	 * Builds the distance field of the given maze.
+	 * 
+	 * @param maze
+	 */
+	public DistanceField(Maze maze) {
+		this.maze = maze;
+		height = maze.getHeight();
+		distances = new int[maze.stateCount()];
+		nextSteps = new byte[maze.stateCount()];
+		rebuild();
+	}
+
+	/**
+	 * Recomputes the field from the maze's current passages.
+	 */
+	public void rebuild() {
+		Arrays.fill(distances, -1);
+		Arrays.fill(nextSteps, NONE);
+		final int[] queue = new int[distances.length];
+		int head = 0;
+		int tail = 0;
+		for (Cell goal : maze.getGoalStates()) {
+			final int index = maze.indexOf(goal);
+			if (distances[index] < 0) {
+				distances[index] = 0;
+				queue[tail++] = index;
+			}
+		}
+		while (head < tail) {
+			final int current = queue[head++];
+			for (IntIterator it = maze.successorIndices(current); it.hasNext();) {
+				final int neighbor = it.nextInt();
+				if (distances[neighbor] < 0) {
+					distances[neighbor] = distances[current] + 1;
+					nextSteps[neighbor] = direction(neighbor, current);
+					queue[tail++] = neighbor;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the maze this is the distance field of
+	 */
+	public Maze getMaze() {
+		return maze;
+	}
+
+	/**
+	 * Returns the number of steps from the given cell to its nearest goal.
+	 * 
+	 * @param cell
+	 * @return the distance, or -1 if no goal can be reached from the cell
+	 */
+	public int distance(Cell cell) {
+		return distances[maze.indexOf(cell)];
+	}
+
+	/**
+	 * Returns the cell after the given one on a shortest path to its nearest
+	 * goal.
+	 * 
+	 * @param cell
+	 * @return the next cell, or null if the cell is a goal, or no goal can be
+	 *         reached from it
+	 */
+	public Cell nextStep(Cell cell) {
+		final int index = maze.indexOf(cell);
+		return nextSteps[index] == NONE ? null : maze.stateAt(step(index));
+	}
+
+	/**
+	 * Returns a shortest path from the given cell to its nearest goal, in the
+	 * same form as Searcher.findSolution(): the list starts with the given
+	 * cell and ends with a goal.
+	 * 
+	 * @param start
+	 * @return the path, or an empty (mutable) list if no goal can be reached
+	 */
+	public List<Cell> pathFrom(Cell start) {
+		int index = maze.indexOf(start);
+		if (distances[index] < 0) {
+			return new ArrayList<Cell>();
+		}
+		final List<Cell> path = new ArrayList<Cell>(distances[index] + 1);
+		path.add(start);
+		while (nextSteps[index] != NONE) {
+			index = step(index);
+			path.add(maze.stateAt(index));
+		}
+		return path;
+	}
+
+	private byte direction(int from, int to) {
+		// the cells of a vertical step are in the same column
+		if (from / height == to / height) {
+			return to < from ? NORTH : SOUTH;
+		}
+		return to < from ? WEST : EAST;
+	}
+
+	private int step(int index) {
+		switch (nextSteps[index]) {
+		case NORTH:
+			return index - 1;
+		case SOUTH:
+			return index + 1;
+		case WEST:
+			return index - height;
+		default:
+			return index + height;
+		}
+	}
+}
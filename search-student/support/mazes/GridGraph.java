@@ -0,0 +1,292 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package mazes;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.util.*;
+import java.util.function.Consumer;
+
+import graphs.BitSetGraphMarker;
+import graphs.EdgeListener;
+import graphs.GraphException;
+import graphs.GraphInterface;
+import graphs.GraphMarker;
+import graphs.IntIterator;
+import graphs.UnweightedGraphInterface;
+
+/**
+ * The graph of a rectangular grid maze, stored as two bits per cell: whether
+ * there is a passage from the cell to its east neighbor (x + 1, y), and
+ * whether there is one to its south neighbor (x, y + 1). A 10,000 by 10,000
+ * maze fits in 25 MB.
+ * 
+ * Every cell of the grid is a vertex from the start; addVertex only checks
+ * that its cell is in the grid. Edges may only join adjacent cells, and are
+ * always undirected: adding the edge from a to b also adds the edge from b
+ * to a. Neighbors are found arithmetically, so hasEdge is O(1), and Cell
+ * objects are only created when they are asked for; none are stored.
+ * 
+ * Cells are indexed column by column: the cell (x, y) has index
+ * x * height + y.
+ * 
+ * A GridGraph may also be a read-only view of passages mapped from a maze
+ * file (see Maze.load()); adding an edge to it throws
+ * UnsupportedOperationException.
+ * 
+ * @author liberato
+ *
+ */
+public class GridGraph implements UnweightedGraphInterface<Cell> {
+	private final int width;
+	private final int height;
+	private final LongBuffer passages;
+	private final List<EdgeListener<? super Cell>> listeners = new ArrayList<EdgeListener<? super Cell>>();
+
+	public GridGraph(int width, int height) {
+		this(width, height, LongBuffer.wrap(new long[wordCount(width, height)]));
+	}
+
+	/**
+	 * Creates a graph over the given passage words, which are shared, not
+	 * copied.
+	 */
+	GridGraph(int width, int height, LongBuffer passages) {
+		if (passages.capacity() != wordCount(width, height)) {
+			throw new IllegalArgumentException();
+		}
+		this.width = width;
+		this.height = height;
+		this.passages = passages;
+	}
+
+	/**
+	 * Returns the number of longs needed to hold the passages of a width by
+	 * height grid.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the grid is empty or too large
+	 */
+	static int wordCount(int width, int height) {
+		if (width < 1 || height < 1 || (long) width * height > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException();
+		}
+		return (int) ((2L * width * height + 63) >>> 6);
+	}
+
+	/**
+	 * Returns a GridGraph with the same passages as the given graph of a
+	 * width by height maze.
+	 */
+	static GridGraph copyOf(GraphInterface<Cell> graph, int width, int height) {
+		GridGraph copy = new GridGraph(width, height);
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				Cell cell = new Cell(x, y);
+				if (x < width - 1 && graph.hasEdge(cell, new Cell(x + 1, y))) {
+					copy.addEdge(cell, new Cell(x + 1, y));
+				}
+				if (y < height - 1 && graph.hasEdge(cell, new Cell(x, y + 1))) {
+					copy.addEdge(cell, new Cell(x, y + 1));
+				}
+			}
+		}
+		return copy;
+	}
+
+	/**
+	 * Writes the passage words, in order.
+	 */
+	void writePassages(DataOutput out) throws IOException {
+		for (int i = 0; i < passages.capacity(); i++) {
+			out.writeLong(passages.get(i));
+		}
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public int getNumVertices() {
+		return width * height;
+	}
+
+	public boolean isEmpty() {
+		return false;
+	}
+
+	/**
+	 * Does nothing, as every cell in the grid is already a vertex.
+	 * 
+	 * @throws GraphException
+	 *             if the cell is outside the grid
+	 */
+	public void addVertex(Cell vertex) {
+		vertexIndex(vertex);
+	}
+
+	public boolean hasVertex(Cell vertex) {
+		return vertex.posX >= 0 && vertex.posX < width && vertex.posY >= 0 && vertex.posY < height;
+	}
+
+	public List<Cell> getVertices() {
+		List<Cell> vertices = new ArrayList<Cell>(getNumVertices());
+		for (Iterator<Cell> it = vertexIterator(); it.hasNext();) {
+			vertices.add(it.next());
+		}
+		return vertices;
+	}
+
+	public Iterator<Cell> vertexIterator() {
+		return new Iterator<Cell>() {
+			private int next = 0;
+
+			public boolean hasNext() {
+				return next < getNumVertices();
+			}
+
+			public Cell next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return vertexAt(next++);
+			}
+		};
+	}
+
+	/**
+	 * Adds a passage between two adjacent cells, in both directions.
+	 * 
+	 * @throws GraphException
+	 *             if either cell is outside the grid, or they are not
+	 *             adjacent
+	 * @throws UnsupportedOperationException
+	 *             if this graph is read-only
+	 */
+	public void addEdge(Cell from, Cell to) {
+		long bit = passageBit(vertexIndex(from), vertexIndex(to));
+		if (bit < 0) {
+			throw new GraphException("Cells not adjacent: " + from + ", " + to);
+		}
+		if (passages.isReadOnly()) {
+			throw new UnsupportedOperationException();
+		}
+		final int word = (int) (bit >>> 6);
+		passages.put(word, passages.get(word) | (1L << bit));
+		for (EdgeListener<? super Cell> listener : listeners) {
+			listener.edgeAdded(from, to);
+		}
+	}
+
+	/**
+	 * Registers a listener to be told of every edge added from now on. As
+	 * edges are undirected, adding the edge from a to b is reported as just
+	 * that, not also as the edge from b to a.
+	 */
+	public void addEdgeListener(EdgeListener<? super Cell> listener) {
+		listeners.add(listener);
+	}
+
+	public void removeEdgeListener(EdgeListener<? super Cell> listener) {
+		listeners.remove(listener);
+	}
+
+	public boolean hasEdge(Cell from, Cell to) {
+		long bit = passageBit(vertexIndex(from), vertexIndex(to));
+		return bit >= 0 && hasPassage(bit);
+	}
+
+	/**
+	 * Lists the neighbors in the order north, south, west, east.
+	 */
+	public List<Cell> getNeighbors(Cell vertex) {
+		List<Cell> neighbors = new ArrayList<Cell>(4);
+		forEachNeighbor(vertex, neighbors::add);
+		return neighbors;
+	}
+
+	public void forEachNeighbor(Cell vertex, Consumer<? super Cell> sink) {
+		for (IntIterator it = neighborIndices(vertexIndex(vertex)); it.hasNext();) {
+			sink.accept(vertexAt(it.nextInt()));
+		}
+	}
+
+	public GraphMarker<Cell> getMarker() {
+		return new BitSetGraphMarker<Cell>(this);
+	}
+
+	public int vertexIndex(Cell vertex) {
+		if (!hasVertex(vertex)) {
+			throw new GraphException("Vertex not in graph: " + vertex);
+		}
+		return vertex.posX * height + vertex.posY;
+	}
+
+	public Cell vertexAt(int index) {
+		return new Cell(index / height, index % height);
+	}
+
+	/**
+	 * Returns the indices of the neighbors in the order north, south, west,
+	 * east.
+	 */
+	public IntIterator neighborIndices(final int index) {
+		final int y = index % height;
+		// one bit per direction with an open passage, in the order listed
+		final int open = (y > 0 && hasPassage(2L * (index - 1) + 1) ? 1 : 0)
+				| (y < height - 1 && hasPassage(2L * index + 1) ? 2 : 0)
+				| (index >= height && hasPassage(2L * (index - height)) ? 4 : 0)
+				| (index < (width - 1) * height && hasPassage(2L * index) ? 8 : 0);
+		return new IntIterator() {
+			private int remaining = open;
+
+			public boolean hasNext() {
+				return remaining != 0;
+			}
+
+			public int nextInt() {
+				int direction = Integer.numberOfTrailingZeros(remaining);
+				remaining &= remaining - 1;
+				switch (direction) {
+				case 0:
+					return index - 1;
+				case 1:
+					return index + 1;
+				case 2:
+					return index - height;
+				default:
+					return index + height;
+				}
+			}
+		};
+	}
+
+	/**
+	 * Returns the bit recording the passage between two cells, or -1 if the
+	 * cells are not adjacent. Bit 2i is the passage east of cell i, and bit
+	 * 2i + 1 the passage south of it. Past 2^30 cells these no longer fit in
+	 * an int, so bits are numbered with longs.
+	 */
+	private long passageBit(int a, int b) {
+		int low = Math.min(a, b);
+		int high = Math.max(a, b);
+		if (high - low == height) {
+			return 2L * low;
+		}
+		if (high - low == 1 && high % height != 0) {
+			return 2L * low + 1;
+		}
+		return -1;
+	}
+
+	private boolean hasPassage(long bit) {
+		return (passages.get((int) (bit >>> 6)) & (1L << bit)) != 0;
+	}
+}
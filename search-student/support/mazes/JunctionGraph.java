@@ -0,0 +1,226 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package mazes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import graphs.IntIterator;
+
+/**
+ * A maze contracted to its junctions: the cells that do not have exactly
+ * two passages (dead ends, forks and crossings), along with every goal. The
+ * other cells each lie on a corridor joining two junctions, and each
+ * corridor becomes a weighted edge, whose weight is its number of steps and
+ * which remembers the cells along it. As mazes from MazeGenerator are mostly
+ * corridors, the contracted graph is several times smaller than the maze.
+ * 
+ * Junctions are numbered from 0 to getJunctionCount() - 1, in the order of
+ * their cells' indices. Edges are numbered so that the edges leaving
+ * junction j are firstEdge(j) to firstEdge(j + 1) - 1. Each corridor is
+ * recorded as two edges, one in each direction.
+ * 
+ * The contraction is a snapshot: it does not see later changes to the maze.
+ * 
+ * @author liberato
+ *
+ */
+public class JunctionGraph {
+	private final Maze maze;
+	private final int[] junctions;
+	private final int[] junctionOf;
+	private final int[] firstEdges;
+	private final int[] sources;
+	private final int[] targets;
+	private final int[] firstCorridorCells;
+	private final int[] corridorCells;
+
+	/**
+	 * Contracts the given maze.
+	 * 
+	 * @param maze
+	 */
+	public JunctionGraph(Maze maze) {
+		this.maze = maze;
+		final int cells = maze.stateCount();
+		junctionOf = new int[cells];
+		int junctionCount = 0;
+		for (int i = 0; i < cells; i++) {
+			junctionOf[i] = degree(i) != 2 || maze.isGoalIndex(i) ? junctionCount++ : -1;
+		}
+		junctions = new int[junctionCount];
+		int edgeCount = 0;
+		for (int i = 0; i < cells; i++) {
+			if (junctionOf[i] >= 0) {
+				junctions[junctionOf[i]] = i;
+				edgeCount += degree(i);
+			}
+		}
+
+		firstEdges = new int[junctionCount + 1];
+		sources = new int[edgeCount];
+		targets = new int[edgeCount];
+		firstCorridorCells = new int[edgeCount + 1];
+		int[] corridor = new int[Math.max(16, cells / 4)];
+		int edge = 0;
+		int corridorSize = 0;
+		for (int junction = 0; junction < junctionCount; junction++) {
+			firstEdges[junction] = edge;
+			for (IntIterator it = maze.successorIndices(junctions[junction]); it.hasNext();) {
+				int previous = junctions[junction];
+				int current = it.nextInt();
+				while (junctionOf[current] < 0) {
+					if (corridorSize == corridor.length) {
+						corridor = Arrays.copyOf(corridor, 2 * corridor.length);
+					}
+					corridor[corridorSize++] = current;
+					final int next = otherNeighbor(current, previous);
+					previous = current;
+					current = next;
+				}
+				sources[edge] = junction;
+				targets[edge] = junctionOf[current];
+				firstCorridorCells[++edge] = corridorSize;
+			}
+		}
+		firstEdges[junctionCount] = edge;
+		corridorCells = Arrays.copyOf(corridor, corridorSize);
+	}
+
+	/**
+	 * @return the maze this graph was contracted from
+	 */
+	public Maze getMaze() {
+		return maze;
+	}
+
+	/**
+	 * @return the number of junctions
+	 */
+	public int getJunctionCount() {
+		return junctions.length;
+	}
+
+	/**
+	 * @return the number of edges, counting each corridor once per direction
+	 */
+	public int getEdgeCount() {
+		return targets.length;
+	}
+
+	/**
+	 * @param cell
+	 * @return the number of the junction at the given cell, or -1 if the cell
+	 *         lies on a corridor
+	 */
+	public int junctionOf(Cell cell) {
+		return junctionOf[maze.indexOf(cell)];
+	}
+
+	/**
+	 * @param junction
+	 * @return the cell of the given junction
+	 */
+	public Cell junctionAt(int junction) {
+		return maze.stateAt(junctions[junction]);
+	}
+
+	/**
+	 * @param junction
+	 * @return the number of the first edge leaving the given junction; the
+	 *         edges leaving it run up to, but not including, firstEdge(junction
+	 *         + 1)
+	 */
+	public int firstEdge(int junction) {
+		return firstEdges[junction];
+	}
+
+	/**
+	 * @param edge
+	 * @return the junction the given edge leaves
+	 */
+	public int edgeSource(int edge) {
+		return sources[edge];
+	}
+
+	/**
+	 * @param edge
+	 * @return the junction the given edge reaches
+	 */
+	public int edgeTarget(int edge) {
+		return targets[edge];
+	}
+
+	/**
+	 * @param edge
+	 * @return the number of steps along the given edge's corridor
+	 */
+	public int edgeLength(int edge) {
+		return firstCorridorCells[edge + 1] - firstCorridorCells[edge] + 1;
+	}
+
+	/**
+	 * Appends the cells along the given edge, after its source junction, to
+	 * the path: first those of its corridor, then its target junction.
+	 * 
+	 * @param edge
+	 * @param path
+	 */
+	public void appendEdge(int edge, List<Cell> path) {
+		for (int i = firstCorridorCells[edge]; i < firstCorridorCells[edge + 1]; i++) {
+			path.add(maze.stateAt(corridorCells[i]));
+		}
+		path.add(junctionAt(targets[edge]));
+	}
+
+	/**
+	 * Walks along the corridor from the given cell through the given
+	 * neighbor, to the first junction.
+	 * 
+	 * @param from
+	 *            the cell to walk from
+	 * @param first
+	 *            the first cell to step to, which must have a passage from
+	 *            from
+	 * @return the cells after from up to and including the junction, or an
+	 *         empty list if the walk comes back to from before reaching a
+	 *         junction
+	 */
+	public List<Cell> walkCorridor(Cell from, Cell first) {
+		final int start = maze.indexOf(from);
+		final List<Cell> walk = new ArrayList<Cell>();
+		int previous = start;
+		int current = maze.indexOf(first);
+		while (current != start) {
+			walk.add(maze.stateAt(current));
+			if (junctionOf[current] >= 0) {
+				return walk;
+			}
+			final int next = otherNeighbor(current, previous);
+			previous = current;
+			current = next;
+		}
+		walk.clear();
+		return walk;
+	}
+
+	private int degree(int index) {
+		int degree = 0;
+		for (IntIterator it = maze.successorIndices(index); it.hasNext(); it.nextInt()) {
+			degree++;
+		}
+		return degree;
+	}
+
+	/*
+	 * Returns the neighbor of a corridor cell other than the given one.
+	 */
+	private int otherNeighbor(int index, int previous) {
+		final IntIterator it = maze.successorIndices(index);
+		final int neighbor = it.nextInt();
+		return neighbor != previous ? neighbor : it.nextInt();
+	}
+}
@@ -4,11 +4,33 @@
 
 package mazes;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
-import search.SearchProblem;
+import search.HeuristicSearchProblem;
+import search.IndexedReversibleSearchProblem;
+import graphs.CsrGraph;
+import graphs.EdgeListener;
+import graphs.IntIterator;
 import graphs.UnweightedGraphInterface;
 
 /**
@@ -18,12 +40,16 @@ import graphs.UnweightedGraphInterface;
  * @author liberato
  *
  */
-public class Maze implements SearchProblem<Cell> {
+public class Maze implements HeuristicSearchProblem<Cell>, IndexedReversibleSearchProblem<Cell> {
+	private static final int MAGIC = 0x4D415A45; // "MAZE"
+	private static final int VERSION = 1;
+
 	private final int width;
 	private final int height;
 	private final UnweightedGraphInterface<Cell> mazeGraph;
 	private final Cell start;
 	private final List<Cell> goals;
+	private final BitSet goalIndices;
 
 	Maze(int width, int height, UnweightedGraphInterface<Cell> mazeGraph,
 			Cell start, List<Cell> goals) {
@@ -32,110 +58,321 @@ public class Maze implements SearchProblem<Cell> {
 		this.mazeGraph = mazeGraph;
 		this.start = start;
 		this.goals = Collections.unmodifiableList(goals);
+		this.goalIndices = new BitSet(width * height);
+		for (Cell goal : goals) {
+			goalIndices.set(indexOf(goal));
+		}
 	}
 
-	public String toString() {
-		final List<String> lines = new ArrayList<String>();
-		StringBuilder sb = new StringBuilder();
-
-		// top border
-		lines.add(topOrBottomBorder());
-
-		// rows
-		for (int i = 0; i < height - 1; i++) {
-			// a row of alternating cells / walls
-			sb = new StringBuilder();
-			// always starts with a border wall
-			sb.append(i % 10);
-			for (int j = 0; j < width - 1; j++) {
-				final Cell cell = new Cell(j, i);
-				sb.append(cellValue(cell));
-				sb.append(wallValue(new Cell(j, i), new Cell(j + 1, i)));
+	private Maze(int width, int height, UnweightedGraphInterface<Cell> mazeGraph, Cell start, List<Cell> goals,
+			BitSet goalIndices) {
+		this.width = width;
+		this.height = height;
+		this.mazeGraph = mazeGraph;
+		this.start = start;
+		this.goals = goals;
+		this.goalIndices = goalIndices;
+	}
+
+	/**
+	 * @return the number of columns in this maze
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return the number of rows in this maze
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns a maze with the same passages and goals as this one, but the
+	 * given start. The passages are shared, not copied.
+	 * 
+	 * @param start
+	 * @return the maze
+	 * @throws IllegalArgumentException
+	 *             if the start is not in the maze
+	 */
+	public Maze withStart(Cell start) {
+		indexOf(start);
+		return new Maze(width, height, mazeGraph, start, goals, goalIndices);
+	}
+
+	/**
+	 * Opens a passage between two adjacent cells, in both directions, if
+	 * there is not one already. Listeners registered with addEdgeListener()
+	 * are told of the change.
+	 * 
+	 * @param from
+	 * @param to
+	 * @throws IllegalArgumentException
+	 *             if the cells are not adjacent cells of this maze
+	 * @throws UnsupportedOperationException
+	 *             if this maze cannot be changed, as when it is frozen or
+	 *             loaded from a file
+	 */
+	public void openPassage(Cell from, Cell to) {
+		indexOf(from);
+		indexOf(to);
+		if (Math.abs(from.posX - to.posX) + Math.abs(from.posY - to.posY) != 1) {
+			throw new IllegalArgumentException("Cells not adjacent: " + from + ", " + to);
+		}
+		if (!mazeGraph.hasEdge(from, to)) {
+			mazeGraph.addEdge(from, to);
+		}
+		if (!mazeGraph.hasEdge(to, from)) {
+			mazeGraph.addEdge(to, from);
+		}
+	}
+
+	/**
+	 * Registers a listener to be told of each passage added to this maze's
+	 * graph. Mazes made by withStart() share their passages, and so their
+	 * listeners, with this one.
+	 * 
+	 * @param listener
+	 */
+	public void addEdgeListener(EdgeListener<? super Cell> listener) {
+		mazeGraph.addEdgeListener(listener);
+	}
+
+	public void removeEdgeListener(EdgeListener<? super Cell> listener) {
+		mazeGraph.removeEdgeListener(listener);
+	}
+
+	/**
+	 * Returns a copy of this maze whose passages are held in an immutable
+	 * CsrGraph, which is more compact, faster to search, and safe to search
+	 * from several threads at once.
+	 * 
+	 * @return the frozen copy of this maze
+	 */
+	public Maze freeze() {
+		return new Maze(width, height, CsrGraph.copyOf(mazeGraph), start, goals);
+	}
+
+	/**
+	 * Maps a maze previously written by save(). The passages are read
+	 * straight from the mapping rather than copied, so loading takes time
+	 * proportional to the number of goals, and several processes loading the
+	 * same file share its pages. The loaded maze's graph is read-only.
+	 * 
+	 * @param file
+	 * @return the maze
+	 * @throws IOException
+	 *             if the file cannot be read or is not a saved maze
+	 */
+	public static Maze load(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (mapped.capacity() < 24 || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+				throw new IOException("Not a maze: " + file);
 			}
-			// always ends with cell then the border wall
-			{
-				final Cell cell = new Cell(width - 1, i);
-				sb.append(cellValue(cell));
-				sb.append(i % 10);
-				lines.add(sb.toString());
+			final int width = mapped.getInt(8);
+			final int height = mapped.getInt(12);
+			final int goalCount = mapped.getInt(20);
+			final long offset = headerSize(goalCount);
+			final int words;
+			try {
+				words = GridGraph.wordCount(width, height);
+			} catch (IllegalArgumentException e) {
+				throw new IOException("Not a maze: " + file);
 			}
-
-			// then a row of walls
-			sb = new StringBuilder();
-			// border wall
-			sb.append("#");
-			for (int j = 0; j < width - 1; j++) {
-				sb.append(wallValue(new Cell(j, i), new Cell(j, i + 1)));
-				// diagonal offset from cells are always filled
-				sb.append("#");
+			if (goalCount < 0 || mapped.capacity() != offset + 8L * words) {
+				throw new IOException("Truncated maze: " + file);
+			}
+			final int cells = width * height;
+			final int startIndex = mapped.getInt(16);
+			final List<Cell> goals = new ArrayList<Cell>(goalCount);
+			for (int i = 0; i < goalCount; i++) {
+				final int goalIndex = mapped.getInt(24 + 4 * i);
+				if (goalIndex < 0 || goalIndex >= cells) {
+					throw new IOException("Not a maze: " + file);
+				}
+				goals.add(new Cell(goalIndex / height, goalIndex % height));
+			}
+			if (startIndex < 0 || startIndex >= cells) {
+				throw new IOException("Not a maze: " + file);
 			}
-			// remember the last column
-			sb.append(wallValue(new Cell(width - 1, i), new Cell(width - 1,
-					i + 1)));
-			// and border wall
-			sb.append("#");
-			lines.add(sb.toString());
+			mapped.position((int) offset);
+			final GridGraph graph = new GridGraph(width, height, mapped.slice().asLongBuffer());
+			return new Maze(width, height, graph, new Cell(startIndex / height, startIndex % height), goals);
 		}
+	}
 
-		// finally the last row of cells/walls
-		sb = new StringBuilder();
-		sb.append((height - 1) % 10);
-		for (int j = 0; j < width - 1; j++) {
-			final int i = height - 1;
-			final Cell cell = new Cell(j, i);
-			sb.append(cellValue(cell));
-			sb.append(wallValue(cell, new Cell(j + 1, i)));
-		}
-		// last cell
-		{
-			final Cell cell = new Cell(width - 1, height - 1);
-			sb.append(cellValue(cell));
-			sb.append((height - 1) % 10);
-			lines.add(sb.toString());
+	/**
+	 * Writes this maze to the given file, in a versioned binary format: a
+	 * header holding the width, height, start and goals, followed by two bits
+	 * per cell recording the passages east and south of it, as in GridGraph.
+	 * 
+	 * @param file
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public void save(File file) throws IOException {
+		final GridGraph grid = mazeGraph instanceof GridGraph ? (GridGraph) mazeGraph
+				: GridGraph.copyOf(mazeGraph, width, height);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(width);
+			out.writeInt(height);
+			out.writeInt(indexOf(start));
+			out.writeInt(goals.size());
+			for (Cell goal : goals) {
+				out.writeInt(indexOf(goal));
+			}
+			// pad so that the passages are aligned to a long
+			for (long i = 24 + 4L * goals.size(); i < headerSize(goals.size()); i++) {
+				out.write(0);
+			}
+			grid.writePassages(out);
 		}
+	}
 
-		// and the bottom border
-		lines.add(topOrBottomBorder());
+	private static long headerSize(int goalCount) {
+		return (24 + 4L * goalCount + 7) & ~7L;
+	}
 
-		sb = new StringBuilder();
-		for (String line : lines) {
-			sb.append(line);
-			sb.append("\n");
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		try {
+			render(sb);
+		} catch (IOException e) {
+			// StringBuilder.append never throws
+			throw new AssertionError(e);
 		}
-		sb.delete(sb.length() - 1, sb.length());
+		// drop the final newline
+		sb.setLength(sb.length() - 1);
 		return sb.toString();
 	}
 
-	private String cellValue(Cell cell) {
-		if (cell.equals(start)) {
-			return "S";
-		} else if (goals.contains(cell)) {
-			return "G";
-		} else {
-			return " ";
-		}
+	/**
+	 * Writes the same drawing of this maze as toString(), followed by a
+	 * newline.
+	 * 
+	 * @param out
+	 * @throws IOException
+	 *             if out throws one
+	 */
+	public void render(Appendable out) throws IOException {
+		render(out, Collections.<Cell> emptyList());
 	}
 
-	private String wallValue(Cell c1, Cell c2) {
-		if (mazeGraph.hasEdge(c1, c2)) {
-			return " ";
-		} else {
-			return "#";
+	/**
+	 * Writes the same drawing of this maze as toString(), followed by a
+	 * newline, except that cells of the given path other than the start and
+	 * goals are drawn as '.'.
+	 * 
+	 * The maze is drawn one row at a time from a pair of reused buffers, so
+	 * apart from the path, only O(width) memory is used however tall the
+	 * maze is.
+	 * 
+	 * @param out
+	 * @param path
+	 *            the cells to mark, such as a solution found by a Searcher
+	 * @throws IOException
+	 *             if out throws one
+	 */
+	public void render(Appendable out, Collection<Cell> path) throws IOException {
+		final BitSet onPath = new BitSet();
+		for (Cell cell : path) {
+			onPath.set(indexOf(cell));
 		}
-	}
+		final int startIndex = indexOf(start);
+		final int lineLength = 2 * width + 2;
+		final char[] cells = new char[lineLength];
+		final char[] walls = new char[lineLength];
+		cells[lineLength - 1] = '\n';
+		walls[lineLength - 1] = '\n';
 
-	private String topOrBottomBorder() {
-		final int printWidth = 2 * width + 1;
-		final StringBuilder sb = new StringBuilder();
+		// the top and bottom borders
+		for (int i = 0; i < lineLength - 1; i++) {
+			walls[i] = i % 2 == 0 ? '#' : (char) ('0' + (i / 2) % 10);
+		}
+		writeLine(out, walls);
 
-		for (int i = 0; i < printWidth; i++) {
-			if (i % 2 == 0) {
-				sb.append("#");
-			} else {
-				sb.append((i / 2) % 10);
+		for (int y = 0; y < height; y++) {
+			// a row of alternating cells / walls, starting and ending with
+			// the border; then a row of walls below them, with the diagonals
+			// between cells always filled
+			final char border = (char) ('0' + y % 10);
+			cells[0] = border;
+			walls[0] = '#';
+			for (int x = 0; x < width; x++) {
+				final int index = x * height + y;
+				boolean east = false;
+				boolean south = false;
+				for (IntIterator it = mazeGraph.neighborIndices(index); it.hasNext();) {
+					final int neighbor = it.nextInt();
+					east |= neighbor == index + height;
+					south |= neighbor == index + 1 && y < height - 1;
+				}
+				if (index == startIndex) {
+					cells[2 * x + 1] = 'S';
+				} else if (goalIndices.get(index)) {
+					cells[2 * x + 1] = 'G';
+				} else if (onPath.get(index)) {
+					cells[2 * x + 1] = '.';
+				} else {
+					cells[2 * x + 1] = ' ';
+				}
+				cells[2 * x + 2] = x == width - 1 ? border : east ? ' ' : '#';
+				walls[2 * x + 1] = south ? ' ' : '#';
+				walls[2 * x + 2] = '#';
+			}
+			writeLine(out, cells);
+			if (y < height - 1) {
+				writeLine(out, walls);
 			}
 		}
-		return sb.toString();
+
+		for (int i = 0; i < lineLength - 1; i++) {
+			walls[i] = i % 2 == 0 ? '#' : (char) ('0' + (i / 2) % 10);
+		}
+		writeLine(out, walls);
+	}
+
+	/**
+	 * Writes the drawing of this maze made by render(Appendable) to the given
+	 * stream as ASCII. The stream is flushed but not closed.
+	 * 
+	 * @param out
+	 * @throws IOException
+	 *             if the stream cannot be written
+	 */
+	public void render(OutputStream out) throws IOException {
+		render(out, Collections.<Cell> emptyList());
+	}
+
+	/**
+	 * Writes the drawing of this maze made by render(Appendable, Collection)
+	 * to the given stream as ASCII. The stream is flushed but not closed.
+	 * 
+	 * @param out
+	 * @param path
+	 *            the cells to mark
+	 * @throws IOException
+	 *             if the stream cannot be written
+	 */
+	public void render(OutputStream out, Collection<Cell> path) throws IOException {
+		final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.US_ASCII));
+		render(writer, path);
+		writer.flush();
+	}
+
+	private static void writeLine(Appendable out, char[] line) throws IOException {
+		if (out instanceof Writer) {
+			((Writer) out).write(line);
+		} else if (out instanceof StringBuilder) {
+			((StringBuilder) out).append(line);
+		} else {
+			out.append(CharBuffer.wrap(line));
+		}
 	}
 
 	@Override
@@ -148,8 +385,96 @@ public class Maze implements SearchProblem<Cell> {
 		return mazeGraph.getNeighbors(currentState);
 	}
 
+	@Override
+	public void forEachSuccessor(Cell currentState, Consumer<? super Cell> sink) {
+		mazeGraph.forEachNeighbor(currentState, sink);
+	}
+
 	@Override
 	public boolean isGoal(Cell state) {
-		return goals.contains(state);
+		return state.posX >= 0 && state.posX < width && state.posY >= 0 && state.posY < height
+				&& goalIndices.get(state.posX * height + state.posY);
+	}
+
+	@Override
+	public List<Cell> getGoalStates() {
+		return goals;
+	}
+
+	/**
+	 * Passages are always added in both directions, so the predecessors of a
+	 * cell are exactly its successors.
+	 */
+	@Override
+	public List<Cell> getPredecessors(Cell currentState) {
+		return getSuccessors(currentState);
+	}
+
+	@Override
+	public int stateCount() {
+		return width * height;
+	}
+
+	/**
+	 * Cells are numbered column by column: the cell (x, y) is number
+	 * x * height + y.
+	 */
+	@Override
+	public int indexOf(Cell state) {
+		if (state.posX < 0 || state.posX >= width || state.posY < 0 || state.posY >= height) {
+			throw new IllegalArgumentException("Cell not in maze: " + state);
+		}
+		return state.posX * height + state.posY;
+	}
+
+	@Override
+	public Cell stateAt(int index) {
+		return new Cell(index / height, index % height);
+	}
+
+	@Override
+	public void forEachSuccessorIndex(int index, IntConsumer sink) {
+		for (IntIterator it = mazeGraph.neighborIndices(index); it.hasNext();) {
+			sink.accept(it.nextInt());
+		}
+	}
+
+	/**
+	 * Passages are always added in both directions, so the predecessors of a
+	 * cell are exactly its successors.
+	 */
+	@Override
+	public void forEachPredecessorIndex(int index, IntConsumer sink) {
+		forEachSuccessorIndex(index, sink);
+	}
+
+	/**
+	 * Returns the indices of the cells with a passage from the cell with the
+	 * given index, without allocating a Cell for each.
+	 * 
+	 * @param index
+	 *            a cell number
+	 * @return the numbers of its successors
+	 */
+	public IntIterator successorIndices(int index) {
+		return mazeGraph.neighborIndices(index);
+	}
+
+	@Override
+	public boolean isGoalIndex(int index) {
+		return goalIndices.get(index);
+	}
+
+	/**
+	 * Returns the Manhattan distance from state to the closest goal, or
+	 * Integer.MAX_VALUE if the maze has no goals.
+	 */
+	@Override
+	public int estimateDistanceToGoal(Cell state) {
+		int best = Integer.MAX_VALUE;
+		for (Cell goal : goals) {
+			best = Math.min(best, Math.abs(state.posX - goal.posX) + Math.abs(state.posY - goal.posY));
+		}
+		return best;
 	}
 }
\ No newline at end of file
@@ -5,9 +5,12 @@
 package mazes;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import graphs.GraphMarker;
 import graphs.UnweightedGraphInterface;
@@ -37,13 +40,37 @@ public class MazeGenerator {
 	 * @param seed 
 	 */
 	public MazeGenerator(int width, int height, long seed) {
-		if (width < 1 || height < 1) {
-			throw new IllegalArgumentException();
-		}
+		this(width, height, seed, checkedSparseGraph(width, height));
+	}
+
+	private MazeGenerator(int width, int height, long seed, UnweightedGraphInterface<Cell> mazeGraph) {
 		this.width = width;
 		this.height = height;
 		random = new Random(seed);
-		mazeGraph = new UnweightedSparseGraph<Cell>(width * height);
+		this.mazeGraph = mazeGraph;
+	}
+
+	private static UnweightedGraphInterface<Cell> checkedSparseGraph(int width, int height) {
+		if (width < 1 || height < 1) {
+			throw new IllegalArgumentException();
+		}
+		return new UnweightedSparseGraph<Cell>(width * height);
+	}
+
+	/**
+	 * Creates a new Maze generator whose mazes store their passages in a
+	 * GridGraph, which takes two bits per cell.
+	 * 
+	 * Using the same width, height, and seed results in the same maze as the
+	 * generator made by the constructor.
+	 * 
+	 * @param width
+	 * @param height
+	 * @param seed
+	 * @return the generator
+	 */
+	public static MazeGenerator withGridGraph(int width, int height, long seed) {
+		return new MazeGenerator(width, height, seed, new GridGraph(width, height));
 	}
 
 	/**
@@ -54,11 +81,7 @@ public class MazeGenerator {
 
 		// first, build the maze using a standard randomized DFS walk
 		// (see https://en.wikipedia.org/wiki/Maze_generation_algorithm)
-		for (int x = 0; x < width; x++) {
-			for (int y = 0; y < height; y++) {
-				mazeGraph.addVertex(new Cell(x, y));
-			}
-		}
+		addAllCells();
 
 		final GraphMarker<Cell> marker = mazeGraph.getMarker();
 		Cell current = randomCell();
@@ -101,7 +124,412 @@ public class MazeGenerator {
 				marker.mark(current);
 			}
 		}
+		return finish();
+	}
+
+	/**
+	 * Builds a maze by randomized Kruskal's algorithm: every interior wall is
+	 * considered once, in a random order, and removed if the cells on either
+	 * side are not yet connected. Connectivity is tracked in an int-array
+	 * union-find, so this runs in near-linear time.
+	 * 
+	 * As with generateDfs(), a few extra walls are then removed, and the start
+	 * and goals are chosen at random.
+	 * 
+	 * @return a new maze
+	 */
+	public Maze generateKruskal() {
+		addAllCells();
+
+		// wall 2i is east of the cell with index i = x * height + y, and wall
+		// 2i + 1 is south of it
+		final int cells = width * height;
+		final int[] walls = new int[2 * cells - width - height];
+		int count = 0;
+		for (int i = 0; i < cells; i++) {
+			if (i < cells - height) {
+				walls[count++] = 2 * i;
+			}
+			if (i % height < height - 1) {
+				walls[count++] = 2 * i + 1;
+			}
+		}
+		for (int i = walls.length - 1; i > 0; i--) {
+			final int j = random.nextInt(i + 1);
+			final int wall = walls[i];
+			walls[i] = walls[j];
+			walls[j] = wall;
+		}
+
+		final UnionFind sets = new UnionFind(cells);
+		for (int wall : walls) {
+			final int from = wall >>> 1;
+			final int to = (wall & 1) == 0 ? from + height : from + 1;
+			if (sets.union(from, to)) {
+				final Cell fromCell = new Cell(from / height, from % height);
+				final Cell toCell = new Cell(to / height, to % height);
+				mazeGraph.addEdge(fromCell, toCell);
+				mazeGraph.addEdge(toCell, fromCell);
+			}
+		}
+		return finish();
+	}
+
+	/**
+	 * Builds a maze by Eller's algorithm (see streamEller()), using this
+	 * generator's random seed.
+	 * 
+	 * As with generateDfs(), a few extra walls are then removed, and the start
+	 * and goals are chosen at random.
+	 * 
+	 * @return a new maze
+	 */
+	public Maze generateEller() {
+		addAllCells();
+		eller(width, height, random, (y, eastPassages, southPassages) -> {
+			final int row = (int) y;
+			for (int x = 0; x < width; x++) {
+				if (eastPassages[x]) {
+					mazeGraph.addEdge(new Cell(x, row), new Cell(x + 1, row));
+					mazeGraph.addEdge(new Cell(x + 1, row), new Cell(x, row));
+				}
+				if (southPassages[x]) {
+					mazeGraph.addEdge(new Cell(x, row), new Cell(x, row + 1));
+					mazeGraph.addEdge(new Cell(x, row + 1), new Cell(x, row));
+				}
+			}
+		});
+		return finish();
+	}
+
+	/**
+	 * Builds a maze in parallel on the common fork/join pool; see
+	 * generateTiled(int, ForkJoinPool).
+	 * 
+	 * @param tileSize
+	 *            the width and height of each tile
+	 * @return a new maze
+	 */
+	public Maze generateTiled(int tileSize) {
+		return generateTiled(tileSize, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Builds a maze in parallel, by splitting the grid into square tiles of
+	 * the given size (smaller along the right and bottom edges), and building
+	 * a randomized DFS maze within each tile on the pool. Each tile has its
+	 * own random seed, derived from this generator's seed and the tile's
+	 * position. The tiles are then joined into one maze by opening a single
+	 * random passage across the border of each tile pair in a random spanning
+	 * tree of the tiles, so there is still exactly one path between any two
+	 * cells.
+	 * 
+	 * As with generateDfs(), a few extra walls are then removed, and the start
+	 * and goals are chosen at random.
+	 * 
+	 * The same width, height, seed and tile size always result in the same
+	 * maze, whatever the pool's parallelism.
+	 * 
+	 * @param tileSize
+	 *            the width and height of each tile
+	 * @param pool
+	 *            the pool on which the tiles are built
+	 * @return a new maze
+	 */
+	public Maze generateTiled(int tileSize, ForkJoinPool pool) {
+		if (tileSize < 1) {
+			throw new IllegalArgumentException();
+		}
+		addAllCells();
+
+		final int tilesX = (width + tileSize - 1) / tileSize;
+		final int tilesY = (height + tileSize - 1) / tileSize;
+		final byte[][] tiles = new byte[tilesX * tilesY][];
+		final long seed = random.nextLong();
+		pool.invoke(new TileTask(tiles, 0, tiles.length, tilesY, tileSize, seed));
+
+		for (int tile = 0; tile < tiles.length; tile++) {
+			final int originX = tile / tilesY * tileSize;
+			final int originY = tile % tilesY * tileSize;
+			final int tileHeight = Math.min(tileSize, height - originY);
+			final byte[] passages = tiles[tile];
+			for (int i = 0; i < passages.length; i++) {
+				final Cell cell = new Cell(originX + i / tileHeight, originY + i % tileHeight);
+				if ((passages[i] & EAST) != 0) {
+					addPassage(cell, new Cell(cell.posX + 1, cell.posY));
+				}
+				if ((passages[i] & SOUTH) != 0) {
+					addPassage(cell, new Cell(cell.posX, cell.posY + 1));
+				}
+			}
+		}
+
+		// border 2t is east of tile t, and border 2t + 1 is south of it
+		final int[] borders = new int[2 * tiles.length - tilesX - tilesY];
+		int count = 0;
+		for (int tile = 0; tile < tiles.length; tile++) {
+			if (tile < tiles.length - tilesY) {
+				borders[count++] = 2 * tile;
+			}
+			if (tile % tilesY < tilesY - 1) {
+				borders[count++] = 2 * tile + 1;
+			}
+		}
+		for (int i = borders.length - 1; i > 0; i--) {
+			final int j = random.nextInt(i + 1);
+			final int border = borders[i];
+			borders[i] = borders[j];
+			borders[j] = border;
+		}
+		final UnionFind sets = new UnionFind(tiles.length);
+		for (int border : borders) {
+			final int tile = border >>> 1;
+			final boolean east = (border & 1) == 0;
+			if (sets.union(tile, east ? tile + tilesY : tile + 1)) {
+				final int originX = tile / tilesY * tileSize;
+				final int originY = tile % tilesY * tileSize;
+				if (east) {
+					final int y = originY + random.nextInt(Math.min(tileSize, height - originY));
+					final int x = originX + tileSize - 1;
+					addPassage(new Cell(x, y), new Cell(x + 1, y));
+				} else {
+					final int x = originX + random.nextInt(Math.min(tileSize, width - originX));
+					final int y = originY + tileSize - 1;
+					addPassage(new Cell(x, y), new Cell(x, y + 1));
+				}
+			}
+		}
+		return finish();
+	}
+
+	private static final byte EAST = 1;
+	private static final byte SOUTH = 2;
+
+	/*
+	 * Builds the tiles from..to - 1, splitting the range in half until it is a
+	 * single tile.
+	 */
+	private class TileTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final byte[][] tiles;
+		private final int from;
+		private final int to;
+		private final int tilesY;
+		private final int tileSize;
+		private final long seed;
+
+		TileTask(byte[][] tiles, int from, int to, int tilesY, int tileSize, long seed) {
+			this.tiles = tiles;
+			this.from = from;
+			this.to = to;
+			this.tilesY = tilesY;
+			this.tileSize = tileSize;
+			this.seed = seed;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > 1) {
+				final int middle = (from + to) >>> 1;
+				invokeAll(new TileTask(tiles, from, middle, tilesY, tileSize, seed),
+						new TileTask(tiles, middle, to, tilesY, tileSize, seed));
+				return;
+			}
+			final int tileWidth = Math.min(tileSize, width - from / tilesY * tileSize);
+			final int tileHeight = Math.min(tileSize, height - from % tilesY * tileSize);
+			tiles[from] = generateTile(tileWidth, tileHeight, new Random(seed + from * 0x9E3779B97F4A7C15L));
+		}
+	}
+
+	/*
+	 * Builds a randomized DFS maze on a tileWidth by tileHeight grid, where
+	 * cell i is at (i / tileHeight, i % tileHeight), and returns the EAST and
+	 * SOUTH passages out of each cell.
+	 */
+	private static byte[] generateTile(int tileWidth, int tileHeight, Random random) {
+		final int cells = tileWidth * tileHeight;
+		final byte[] passages = new byte[cells];
+		final boolean[] visited = new boolean[cells];
+		final int[] stack = new int[cells];
+		final int[] candidates = new int[4];
+		int size = 0;
+		stack[size++] = random.nextInt(cells);
+		visited[stack[0]] = true;
+		while (size > 0) {
+			final int current = stack[size - 1];
+			final int y = current % tileHeight;
+			int count = 0;
+			if (y > 0 && !visited[current - 1]) {
+				candidates[count++] = current - 1;
+			}
+			if (y < tileHeight - 1 && !visited[current + 1]) {
+				candidates[count++] = current + 1;
+			}
+			if (current >= tileHeight && !visited[current - tileHeight]) {
+				candidates[count++] = current - tileHeight;
+			}
+			if (current < cells - tileHeight && !visited[current + tileHeight]) {
+				candidates[count++] = current + tileHeight;
+			}
+			if (count == 0) {
+				size--;
+				continue;
+			}
+			final int next = candidates[random.nextInt(count)];
+			// both cells of a vertical move are in the same column
+			final byte direction = next / tileHeight == current / tileHeight ? SOUTH : EAST;
+			passages[Math.min(current, next)] |= direction;
+			visited[next] = true;
+			stack[size++] = next;
+		}
+		return passages;
+	}
+
+	/**
+	 * Receives the passages of a maze one row at a time, from the top row
+	 * (y = 0) down.
+	 */
+	public interface RowSink {
+		/**
+		 * @param y
+		 *            the row
+		 * @param eastPassages
+		 *            eastPassages[x] is true iff there is a passage from (x, y)
+		 *            to (x + 1, y)
+		 * @param southPassages
+		 *            southPassages[x] is true iff there is a passage from (x, y)
+		 *            to (x, y + 1)
+		 */
+		void acceptRow(long y, boolean[] eastPassages, boolean[] southPassages);
+	}
+
+	/**
+	 * Generates a maze by Eller's algorithm, passing each row to the sink as
+	 * soon as it is complete. Only O(width) memory is used, however tall the
+	 * maze, so a maze too large to hold in memory can be written straight to
+	 * disk.
+	 * 
+	 * The maze has exactly one path between any two cells; unlike the other
+	 * generators, no extra walls are removed, and no start or goals are
+	 * chosen. The arrays passed to the sink are reused for the next row.
+	 * 
+	 * The same width, height and seed always result in the same maze.
+	 * 
+	 * @param width
+	 * @param height
+	 * @param seed
+	 * @param sink
+	 *            receives each row
+	 */
+	public static void streamEller(int width, long height, long seed, RowSink sink) {
+		if (width < 1 || height < 1) {
+			throw new IllegalArgumentException();
+		}
+		eller(width, height, new Random(seed), sink);
+	}
+
+	/*
+	 * Each cell of the current row carries the label of its set (the cells
+	 * connected to it through rows above). Adjacent cells of different sets
+	 * are joined at random; then each set is extended down into at least one
+	 * cell of the next row, and the cells of the next row not joined from
+	 * above start new sets. The last row joins every remaining pair of
+	 * different sets. Labels stay below 2 * width, and are merged within a row
+	 * by a union-find over labels.
+	 */
+	private static void eller(int width, long height, Random random, RowSink sink) {
+		final boolean[] east = new boolean[width];
+		final boolean[] south = new boolean[width];
+		int[] labels = new int[width];
+		int[] nextLabels = new int[width];
+		final UnionFind sets = new UnionFind(2 * width);
+		final int[] seen = new int[2 * width];
+		final int[] chosen = new int[2 * width];
+		final boolean[] hasSouth = new boolean[2 * width];
+		final boolean[] used = new boolean[2 * width];
+
+		for (int x = 0; x < width; x++) {
+			labels[x] = x;
+		}
+		for (long y = 0; y < height; y++) {
+			final boolean last = y == height - 1;
+			sets.reset();
+			for (int x = 0; x < width - 1; x++) {
+				east[x] = sets.find(labels[x]) != sets.find(labels[x + 1]) && (last || random.nextBoolean());
+				if (east[x]) {
+					sets.union(labels[x], labels[x + 1]);
+				}
+			}
+			east[width - 1] = false;
+			for (int x = 0; x < width; x++) {
+				labels[x] = sets.find(labels[x]);
+			}
+
+			if (last) {
+				Arrays.fill(south, false);
+			} else {
+				for (int x = 0; x < width; x++) {
+					seen[labels[x]] = 0;
+					hasSouth[labels[x]] = false;
+				}
+				for (int x = 0; x < width; x++) {
+					final int label = labels[x];
+					south[x] = random.nextBoolean();
+					hasSouth[label] |= south[x];
+					// pick one cell of each set uniformly, in case none go south
+					if (random.nextInt(++seen[label]) == 0) {
+						chosen[label] = x;
+					}
+				}
+				for (int x = 0; x < width; x++) {
+					if (!hasSouth[labels[x]]) {
+						south[chosen[labels[x]]] = true;
+						hasSouth[labels[x]] = true;
+					}
+				}
+			}
+			sink.acceptRow(y, east, south);
+
+			// label the next row: cells joined from above keep their set's
+			// label, and the others take labels not in use
+			Arrays.fill(used, false);
+			for (int x = 0; x < width; x++) {
+				if (south[x]) {
+					used[labels[x]] = true;
+				}
+			}
+			int free = 0;
+			for (int x = 0; x < width; x++) {
+				if (south[x]) {
+					nextLabels[x] = labels[x];
+				} else {
+					while (used[free]) {
+						free++;
+					}
+					used[free] = true;
+					nextLabels[x] = free;
+				}
+			}
+			final int[] swap = labels;
+			labels = nextLabels;
+			nextLabels = swap;
+		}
+	}
+
+	private void addPassage(Cell from, Cell to) {
+		mazeGraph.addEdge(from, to);
+		mazeGraph.addEdge(to, from);
+	}
+
+	private void addAllCells() {
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				mazeGraph.addVertex(new Cell(x, y));
+			}
+		}
+	}
 
+	private Maze finish() {
 		/*
 		 * the maze is now fully connected, and has only one path from each node
 		 * to each other node
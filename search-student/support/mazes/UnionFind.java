@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package mazes;
+
+/**
+ * A disjoint-set forest over the ints 0 to n - 1, with union by rank and
+ * path halving.
+ * 
+ * @author liberato
+ *
+ */
+class UnionFind {
+	private final int[] parents;
+	private final byte[] ranks;
+
+	UnionFind(int n) {
+		parents = new int[n];
+		ranks = new byte[n];
+		reset();
+	}
+
+	/**
+	 * Puts every element back into a set of its own.
+	 */
+	void reset() {
+		for (int i = 0; i < parents.length; i++) {
+			parents[i] = i;
+			ranks[i] = 0;
+		}
+	}
+
+	int find(int element) {
+		while (parents[element] != element) {
+			parents[element] = parents[parents[element]];
+			element = parents[element];
+		}
+		return element;
+	}
+
+	/**
+	 * Merges the sets containing a and b.
+	 * 
+	 * @return true iff a and b were in different sets
+	 */
+	boolean union(int a, int b) {
+		int rootA = find(a);
+		int rootB = find(b);
+		if (rootA == rootB) {
+			return false;
+		}
+		if (ranks[rootA] < ranks[rootB]) {
+			int swap = rootA;
+			rootA = rootB;
+			rootB = swap;
+		}
+		parents[rootB] = rootA;
+		if (ranks[rootA] == ranks[rootB]) {
+			ranks[rootA]++;
+		}
+		return true;
+	}
+}
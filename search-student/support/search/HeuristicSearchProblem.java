@@ -0,0 +1,29 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+/**
+ * A search problem that can also estimate how far an arbitrary state is from
+ * the nearest goal state. Every move between a state and one of its
+ * successors is assumed to cost exactly one.
+ * 
+ * For an informed search to return a shortest solution, the estimate must
+ * never overestimate the true distance (that is, it must be admissible), and
+ * it must change by at most one between a state and any of its successors
+ * (that is, it must be consistent).
+ * 
+ * @author liberato
+ *
+ * @param <T>
+ *            the type of each state in the search problem
+ */
+public interface HeuristicSearchProblem<T> extends SearchProblem<T> {
+	/**
+	 * @param state
+	 * @return a lower bound on the number of moves from state to a goal state,
+	 *         or Integer.MAX_VALUE if no goal state can be reached from it
+	 */
+	int estimateDistanceToGoal(T state);
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A search problem whose states are numbered, and that can be searched
+ * backwards from its goals, by state number.
+ * 
+ * @author liberato
+ *
+ * @param <T>
+ *            the type of each state in the search problem
+ */
+public interface IndexedReversibleSearchProblem<T> extends IndexedSearchProblem<T>, ReversibleSearchProblem<T> {
+	/**
+	 * Passes the number of each predecessor of the given state to the sink,
+	 * in the same order as getPredecessors().
+	 * 
+	 * @param index
+	 *            a state number
+	 * @param sink
+	 *            receives the number of each predecessor
+	 */
+	default void forEachPredecessorIndex(int index, IntConsumer sink) {
+		for (T predecessor : getPredecessors(stateAt(index))) {
+			sink.accept(indexOf(predecessor));
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A search problem with finitely many states, each numbered densely from 0 to
+ * stateCount() - 1. This lets a search keep its bookkeeping in arrays indexed
+ * by state number, rather than in maps keyed by state.
+ * 
+ * @author liberato
+ *
+ * @param <T>
+ *            the type of each state in the search problem
+ */
+public interface IndexedSearchProblem<T> extends SearchProblem<T> {
+	/**
+	 * @return the number of states in this problem
+	 */
+	int stateCount();
+
+	/**
+	 * @param state
+	 * @return the number of the given state, from 0 to stateCount() - 1
+	 */
+	int indexOf(T state);
+
+	/**
+	 * @param index
+	 *            a state number, from 0 to stateCount() - 1
+	 * @return the state with the given number
+	 */
+	T stateAt(int index);
+
+	/**
+	 * Passes the number of each successor of the given state to the sink, in
+	 * the same order as getSuccessors().
+	 * 
+	 * @param index
+	 *            a state number
+	 * @param sink
+	 *            receives the number of each successor
+	 */
+	default void forEachSuccessorIndex(int index, IntConsumer sink) {
+		forEachSuccessor(stateAt(index), successor -> sink.accept(indexOf(successor)));
+	}
+
+	/**
+	 * @param index
+	 *            a state number
+	 * @return true iff the state with the given number is a goal state
+	 */
+	default boolean isGoalIndex(int index) {
+		return isGoal(stateAt(index));
+	}
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+/**
+ * A search problem whose states are each packed into a single long. This
+ * lets a search keep its bookkeeping in arrays of longs, and generate
+ * successors without boxing or allocating.
+ * 
+ * @author liberato
+ *
+ */
+public interface LongSearchProblem extends SearchProblem<Long> {
+	/**
+	 * @return the initial (starting) state of the search problem
+	 */
+	long initialState();
+
+	/**
+	 * Writes the successors of a state into the given array, in the same
+	 * order as getSuccessors().
+	 * 
+	 * @param state
+	 * @param out
+	 *            an array with room for at least maxSuccessors() states
+	 * @return the number of successors written to out
+	 */
+	int successors(long state, long[] out);
+
+	/**
+	 * @return the largest number of successors of any state
+	 */
+	int maxSuccessors();
+
+	/**
+	 * @param state
+	 * @return true iff state is a goal state for this problem
+	 */
+	boolean isGoal(long state);
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import java.util.List;
+
+/**
+ * A search problem whose goal states are known in advance, and that can list
+ * the predecessors of an arbitrary state. Together these allow a search to
+ * work backwards from the goals as well as forwards from the initial state.
+ * 
+ * @author liberato
+ *
+ * @param <T>
+ *            the type of each state in the search problem
+ */
+public interface ReversibleSearchProblem<T> extends SearchProblem<T> {
+	/**
+	 * Returns every goal state of this problem. A state s is in this list iff
+	 * isGoal(s) is true.
+	 * 
+	 * @return the list of goal states
+	 */
+	List<T> getGoalStates();
+
+	/**
+	 * Returns the list of predecessors of this state; that is, the states p
+	 * for which getSuccessors(p) contains currentState.
+	 * 
+	 * @param currentState
+	 * @return the list of predecessors of currentState
+	 */
+	List<T> getPredecessors(T currentState);
+}
@@ -5,6 +5,7 @@
 package search;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * An interface to a generic search problem. A search problem is defined by an
@@ -34,6 +35,23 @@ public interface SearchProblem<T> {
 	 */
 	List<T> getSuccessors(T currentState);
 
+	/**
+	 * Passes each successor of this state to the given sink, in the same
+	 * order as getSuccessors() would list them.
+	 * 
+	 * Problems that can enumerate their successors without building a list
+	 * should override this method; the default simply calls getSuccessors().
+	 * 
+	 * @param currentState
+	 * @param sink
+	 *            receives each successor of currentState
+	 */
+	default void forEachSuccessor(T currentState, Consumer<? super T> sink) {
+		for (T successor : getSuccessors(currentState)) {
+			sink.accept(successor);
+		}
+	}
+
 	/**
 	 * @param state
 	 * @return true iff state is a goal state for this problem
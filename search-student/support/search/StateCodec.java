@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+/**
+ * Converts the states of a search problem to and from a fixed number of
+ * bytes, so that they can be written to and read back from files.
+ * 
+ * Two states must be equal iff their encodings are equal.
+ * 
+ * @author liberato
+ *
+ * @param <T>
+ *            the type of each state in the search problem
+ */
+public interface StateCodec<T> {
+	/**
+	 * @return the number of bytes in the encoding of every state
+	 */
+	int width();
+
+	/**
+	 * Writes the encoding of a state.
+	 * 
+	 * @param state
+	 * @param bytes
+	 *            the array to write to
+	 * @param offset
+	 *            the index in bytes of the first of width() bytes to write
+	 */
+	void encode(T state, byte[] bytes, int offset);
+
+	/**
+	 * Reads a state from its encoding.
+	 * 
+	 * @param bytes
+	 *            the array to read from
+	 * @param offset
+	 *            the index in bytes of the first of width() bytes to read
+	 * @return the state
+	 */
+	T decode(byte[] bytes, int offset);
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package graphs;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class BitSetGraphMarkerTest {
+	private UnweightedSparseGraph<Integer> graph;
+
+	@Before
+	public void before() {
+		graph = new UnweightedSparseGraph<Integer>(200);
+		for (int i = 0; i < 200; i++) {
+			graph.addVertex(i);
+		}
+	}
+
+	@Test
+	public void testMarkAndCount() {
+		GraphMarker<Integer> marker = graph.getMarker();
+		marker.mark(3);
+		marker.mark(130);
+		marker.mark(3);
+		assertTrue(marker.isMarked(3));
+		assertTrue(marker.isMarked(130));
+		assertFalse(marker.isMarked(4));
+		assertEquals(2, marker.countMarked());
+		marker.unmark(3);
+		marker.unmark(5);
+		assertFalse(marker.isMarked(3));
+		assertEquals(1, marker.countMarked());
+	}
+
+	@Test
+	public void testClearAndReuse() {
+		GraphMarker<Integer> marker = graph.getMarker();
+		for (int round = 0; round < 1000; round++) {
+			marker.clearMarks();
+			assertEquals(0, marker.countMarked());
+			assertFalse(marker.isMarked(round % 200));
+			marker.mark(round % 200);
+			marker.mark(199);
+			assertTrue(marker.isMarked(round % 200));
+			assertEquals(round % 200 == 199 ? 1 : 2, marker.countMarked());
+		}
+	}
+
+	@Test
+	public void testConcurrentTryMark() throws InterruptedException {
+		final ConcurrentGraphMarker<Integer> marker = graph.getConcurrentMarker();
+		final AtomicInteger claimed = new AtomicInteger();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < 4; t++) {
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < 200; i++) {
+					if (marker.tryMark(i)) {
+						claimed.incrementAndGet();
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(200, claimed.get());
+		assertEquals(200, marker.countMarked());
+		marker.clearMarks();
+		assertEquals(0, marker.countMarked());
+		assertFalse(marker.isMarked(7));
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package graphs;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CsrGraphTest {
+	private UnweightedSparseGraph<String> graph;
+	private CsrGraph<String> frozen;
+
+	@Before
+	public void before() {
+		graph = new UnweightedSparseGraph<String>(4);
+		for (String vertex : Arrays.asList("a", "b", "c", "d")) {
+			graph.addVertex(vertex);
+		}
+		graph.addEdge("a", "d");
+		graph.addEdge("a", "b");
+		graph.addEdge("c", "a");
+		frozen = graph.freeze();
+	}
+
+	@Test
+	public void testSameEdges() {
+		assertEquals(3, frozen.getNumEdges());
+		assertEquals(graph.getVertices(), frozen.getVertices());
+		for (String from : graph.getVertices()) {
+			assertEquals(new HashSet<String>(graph.getNeighbors(from)), new HashSet<String>(frozen.getNeighbors(from)));
+			for (String to : graph.getVertices()) {
+				assertEquals(graph.hasEdge(from, to), frozen.hasEdge(from, to));
+			}
+		}
+	}
+
+	@Test
+	public void testNeighborsSorted() {
+		assertEquals(Arrays.asList("b", "d"), frozen.getNeighbors("a"));
+	}
+
+	@Test
+	public void testSnapshotIsIndependent() {
+		graph.addEdge("b", "c");
+		assertTrue(graph.hasEdge("b", "c"));
+		assertFalse(frozen.hasEdge("b", "c"));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testImmutable() {
+		frozen.addEdge("b", "c");
+	}
+
+	@Test
+	public void testMarker() {
+		GraphMarker<String> marker = frozen.getMarker();
+		marker.mark("c");
+		assertTrue(marker.isMarked("c"));
+		assertFalse(marker.isMarked("a"));
+		assertEquals(1, marker.countMarked());
+	}
+}
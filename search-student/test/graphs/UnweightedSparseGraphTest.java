@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package graphs;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class UnweightedSparseGraphTest {
+	private UnweightedSparseGraph<String> graph;
+
+	@Before
+	public void before() {
+		graph = new UnweightedSparseGraph<String>(4);
+		for (String vertex : Arrays.asList("a", "b", "c", "d")) {
+			graph.addVertex(vertex);
+		}
+		graph.addEdge("a", "b");
+		graph.addEdge("a", "d");
+		graph.addEdge("c", "a");
+	}
+
+	@Test
+	public void testNeighbors() {
+		assertEquals(Arrays.asList("b", "d"), graph.getNeighbors("a"));
+		assertEquals(Arrays.asList(), graph.getNeighbors("b"));
+		assertEquals(Arrays.asList("a"), graph.getNeighbors("c"));
+	}
+
+	@Test
+	public void testNeighborIndicesMatchNeighbors() {
+		for (String vertex : graph.getVertices()) {
+			List<String> neighbors = new ArrayList<String>();
+			for (IntIterator it = graph.neighborIndices(graph.vertexIndex(vertex)); it.hasNext();) {
+				neighbors.add(graph.vertexAt(it.nextInt()));
+			}
+			assertEquals(graph.getNeighbors(vertex), neighbors);
+
+			List<String> streamed = new ArrayList<String>();
+			graph.forEachNeighbor(vertex, streamed::add);
+			assertEquals(graph.getNeighbors(vertex), streamed);
+		}
+	}
+
+	@Test
+	public void testNeighborsInVertexOrder() {
+		graph.addEdge("b", "d");
+		graph.addEdge("b", "a");
+		graph.addEdge("b", "c");
+		assertEquals(Arrays.asList("a", "c", "d"), graph.getNeighbors("b"));
+		graph.addEdge("a", "c");
+		assertEquals(Arrays.asList("b", "c", "d"), graph.getNeighbors("a"));
+	}
+
+	@Test
+	public void testDuplicateEdgeIgnored() {
+		final List<String> added = new ArrayList<String>();
+		graph.addEdgeListener((from, to) -> added.add(from + to));
+		graph.addEdge("a", "b");
+		graph.addEdge("a", "d");
+		assertEquals(Arrays.asList("b", "d"), graph.getNeighbors("a"));
+		assertTrue(added.isEmpty());
+		graph.addEdge("b", "c");
+		graph.addEdge("b", "c");
+		assertEquals(Arrays.asList("c"), graph.getNeighbors("b"));
+		assertEquals(Arrays.asList("bc"), added);
+	}
+
+	@Test(expected = GraphException.class)
+	public void testMissingVertex() {
+		graph.vertexIndex("e");
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package mazes;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import search.Searcher;
+
+public class DistanceFieldTest {
+	@Test
+	public void testPathsMatchBreadthFirst() {
+		for (long seed = 0; seed < 5; seed++) {
+			Maze maze = new MazeGenerator(31, 2 + (int) seed * 7, seed + 100).generateKruskal();
+			DistanceField field = new DistanceField(maze);
+			for (int x = 0; x < maze.getWidth(); x++) {
+				for (int y = 0; y < maze.getHeight(); y++) {
+					Cell start = new Cell(x, y);
+					Maze from = maze.withStart(start);
+					Searcher<Cell> s = new Searcher<Cell>(from);
+					List<Cell> path = field.pathFrom(start);
+					assertTrue(s.isValidSolution(path));
+					assertEquals(s.findSolution().size(), path.size());
+					assertEquals(path.size() - 1, field.distance(start));
+					assertEquals(path.size() > 1 ? path.get(1) : null, field.nextStep(start));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testGoals() {
+		Maze maze = new MazeGenerator(40, 40, 1).generateDfs();
+		DistanceField field = new DistanceField(maze);
+		for (Cell goal : maze.getGoalStates()) {
+			assertEquals(0, field.distance(goal));
+			assertNull(field.nextStep(goal));
+			assertEquals(1, field.pathFrom(goal).size());
+		}
+		assertFalse(maze.isGoal(new Cell(-1, 0)));
+		assertFalse(maze.isGoal(new Cell(0, 40)));
+	}
+
+	@Test
+	public void testRebuildAfterOpenPassage() {
+		// a 3x3 maze with every passage open except those to the corner (2, 2)
+		Maze maze = new Maze(3, 3, new GridGraph(3, 3), new Cell(0, 0), Arrays.asList(new Cell(0, 0)));
+		for (int x = 0; x < 3; x++) {
+			for (int y = 0; y < 3; y++) {
+				if (x < 2 && !(x == 1 && y == 2)) {
+					maze.openPassage(new Cell(x, y), new Cell(x + 1, y));
+				}
+				if (y < 2 && !(x == 2 && y == 1)) {
+					maze.openPassage(new Cell(x, y), new Cell(x, y + 1));
+				}
+			}
+		}
+		Cell corner = new Cell(2, 2);
+		DistanceField field = new DistanceField(maze);
+		assertEquals(-1, field.distance(corner));
+		List<Cell> path = field.pathFrom(corner);
+		assertEquals(new ArrayList<Cell>(), path);
+		// the result is the caller's to change, like a Searcher's
+		path.add(corner);
+
+		maze.openPassage(new Cell(2, 1), corner);
+		assertEquals(-1, field.distance(corner));
+		field.rebuild();
+		assertEquals(4, field.distance(corner));
+		assertEquals(new Cell(2, 1), field.nextStep(corner));
+		path = field.pathFrom(corner);
+		assertTrue(new Searcher<Cell>(maze.withStart(corner)).isValidSolution(path));
+		assertEquals(5, path.size());
+	}
+}
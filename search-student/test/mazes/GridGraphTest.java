@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package mazes;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import graphs.GraphException;
+import search.Searcher;
+
+public class GridGraphTest {
+	@Test
+	public void testSameMazeAsSparseGraph() {
+		for (long seed = 0; seed < 10; seed++) {
+			Maze sparse = new MazeGenerator(17, 11, seed).generateDfs();
+			Maze grid = MazeGenerator.withGridGraph(17, 11, seed).generateDfs();
+			assertEquals(sparse.toString(), grid.toString());
+			for (int x = 0; x < 17; x++) {
+				for (int y = 0; y < 11; y++) {
+					Cell cell = new Cell(x, y);
+					assertEquals(new HashSet<Cell>(sparse.getSuccessors(cell)),
+							new HashSet<Cell>(grid.getSuccessors(cell)));
+				}
+			}
+			final Searcher<Cell> s = new Searcher<Cell>(grid);
+			List<Cell> solution = s.findSolution();
+			assertTrue(s.isValidSolution(solution));
+			assertEquals(new Searcher<Cell>(sparse).findSolution().size(), solution.size());
+		}
+	}
+
+	@Test
+	public void testEdgesAreUndirected() {
+		GridGraph graph = new GridGraph(3, 2);
+		graph.addEdge(new Cell(1, 0), new Cell(1, 1));
+		graph.addEdge(new Cell(2, 1), new Cell(1, 1));
+		assertTrue(graph.hasEdge(new Cell(1, 1), new Cell(1, 0)));
+		assertTrue(graph.hasEdge(new Cell(1, 1), new Cell(2, 1)));
+		assertFalse(graph.hasEdge(new Cell(0, 1), new Cell(1, 1)));
+		assertFalse(graph.hasEdge(new Cell(2, 0), new Cell(0, 1)));
+		// north, south, west, east
+		assertEquals(2, graph.getNeighbors(new Cell(1, 1)).size());
+		assertEquals(new Cell(1, 0), graph.getNeighbors(new Cell(1, 1)).get(0));
+		assertEquals(6, graph.getNumVertices());
+		assertEquals(new Cell(1, 1), graph.vertexAt(graph.vertexIndex(new Cell(1, 1))));
+	}
+
+	@Test(expected = GraphException.class)
+	public void testNonAdjacentEdge() {
+		new GridGraph(3, 3).addEdge(new Cell(0, 0), new Cell(1, 1));
+	}
+
+	@Test(expected = GraphException.class)
+	public void testCellOutsideGrid() {
+		new GridGraph(3, 3).addVertex(new Cell(3, 0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooManyCells() {
+		GridGraph.wordCount(46341, 46341);
+	}
+
+	@Test
+	public void testPassagesPastTwoToTheThirtyCells() throws IOException {
+		// the words are mapped from a sparse file, so only the pages touched
+		// take memory
+		final int width = 1 << 15;
+		final int height = (1 << 15) + 1;
+		File file = File.createTempFile("grid", ".bin");
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			final long bytes = 8L * GridGraph.wordCount(width, height);
+			raf.setLength(bytes);
+			LongBuffer words = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, bytes).asLongBuffer();
+			GridGraph graph = new GridGraph(width, height, words);
+			Cell corner = new Cell(width - 1, height - 1);
+			Cell north = new Cell(width - 1, height - 2);
+			Cell west = new Cell(width - 2, height - 1);
+			graph.addEdge(north, corner);
+			graph.addEdge(west, corner);
+			assertTrue(graph.hasEdge(corner, north));
+			assertTrue(graph.hasEdge(corner, west));
+			assertFalse(graph.hasEdge(north, new Cell(width - 2, height - 2)));
+			assertEquals(Arrays.asList(north, west), graph.getNeighbors(corner));
+			assertEquals(Arrays.asList(corner), graph.getNeighbors(west));
+			// bits that would have wrapped around to the first cells
+			assertTrue(graph.getNeighbors(new Cell(0, 0)).isEmpty());
+			assertTrue(graph.getNeighbors(new Cell(0, 1)).isEmpty());
+		} finally {
+			file.delete();
+		}
+	}
+}
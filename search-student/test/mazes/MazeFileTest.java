@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package mazes;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.LongBuffer;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import search.Searcher;
+
+public class MazeFileTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private void checkSameMaze(Maze expected, Maze actual, int width, int height) {
+		assertEquals(expected.toString(), actual.toString());
+		assertEquals(expected.getInitialState(), actual.getInitialState());
+		assertEquals(expected.getGoalStates(), actual.getGoalStates());
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				Cell cell = new Cell(x, y);
+				assertEquals(new HashSet<Cell>(expected.getSuccessors(cell)),
+						new HashSet<Cell>(actual.getSuccessors(cell)));
+			}
+		}
+		Searcher<Cell> s = new Searcher<Cell>(actual);
+		List<Cell> solution = s.findSolution();
+		assertTrue(s.isValidSolution(solution));
+		assertEquals(new Searcher<Cell>(expected).findSolution().size(), solution.size());
+	}
+
+	@Test
+	public void testSaveAndLoad() throws IOException {
+		for (long seed = 0; seed < 10; seed++) {
+			// a single goal, so the header needs padding
+			Maze small = new MazeGenerator(9, 11, seed).generateDfs();
+			assertEquals(1, small.getGoalStates().size());
+			File smallFile = folder.newFile();
+			small.save(smallFile);
+			assertEquals(32 + 8 * 4, smallFile.length());
+			checkSameMaze(small, Maze.load(smallFile), 9, 11);
+
+			Maze sparse = new MazeGenerator(29, 13, seed).generateDfs();
+			File file = folder.newFile();
+			sparse.save(file);
+			checkSameMaze(sparse, Maze.load(file), 29, 13);
+
+			Maze grid = MazeGenerator.withGridGraph(29, 13, seed).generateDfs();
+			File gridFile = folder.newFile();
+			grid.save(gridFile);
+			checkSameMaze(grid, Maze.load(gridFile), 29, 13);
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testReadOnlyGraph() {
+		GridGraph graph = new GridGraph(2, 2, LongBuffer.wrap(new long[1]).asReadOnlyBuffer());
+		assertFalse(graph.hasEdge(new Cell(0, 0), new Cell(1, 0)));
+		graph.addEdge(new Cell(0, 0), new Cell(1, 0));
+	}
+
+	@Test(expected = IOException.class)
+	public void testLoadRejectsOtherFiles() throws IOException {
+		File file = folder.newFile();
+		try (FileOutputStream out = new FileOutputStream(file)) {
+			out.write(new byte[64]);
+		}
+		Maze.load(file);
+	}
+
+	@Test(expected = IOException.class)
+	public void testLoadRejectsTruncatedFiles() throws IOException {
+		File file = folder.newFile();
+		new MazeGenerator(40, 40, 0).generateDfs().save(file);
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.setLength(file.length() - 8);
+		}
+		Maze.load(file);
+	}
+}
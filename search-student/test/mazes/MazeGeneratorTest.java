@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package mazes;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import search.Searcher;
+
+public class MazeGeneratorTest {
+	private static final int WIDTH = 23;
+	private static final int HEIGHT = 17;
+
+	private static Set<Cell> reachable(Maze maze) {
+		Set<Cell> seen = new HashSet<Cell>();
+		Queue<Cell> queue = new ArrayDeque<Cell>();
+		seen.add(maze.getInitialState());
+		queue.add(maze.getInitialState());
+		while (!queue.isEmpty()) {
+			for (Cell next : maze.getSuccessors(queue.remove())) {
+				if (seen.add(next)) {
+					queue.add(next);
+				}
+			}
+		}
+		return seen;
+	}
+
+	private static long passages(Maze maze) {
+		long count = 0;
+		for (int x = 0; x < WIDTH; x++) {
+			for (int y = 0; y < HEIGHT; y++) {
+				count += maze.getSuccessors(new Cell(x, y)).size();
+			}
+		}
+		return count / 2;
+	}
+
+	private static void checkMaze(Maze maze) {
+		assertEquals(WIDTH * HEIGHT, reachable(maze).size());
+		// a spanning tree, plus ceil(cbrt(cells)) extra passages
+		assertEquals(WIDTH * HEIGHT - 1 + 8, passages(maze));
+		Searcher<Cell> s = new Searcher<Cell>(maze);
+		assertTrue(s.isValidSolution(s.findSolution()));
+	}
+
+	@Test
+	public void testKruskal() {
+		for (long seed = 0; seed < 10; seed++) {
+			Maze maze = new MazeGenerator(WIDTH, HEIGHT, seed).generateKruskal();
+			checkMaze(maze);
+			assertEquals(maze.toString(), new MazeGenerator(WIDTH, HEIGHT, seed).generateKruskal().toString());
+		}
+	}
+
+	@Test
+	public void testEller() {
+		for (long seed = 0; seed < 10; seed++) {
+			Maze maze = new MazeGenerator(WIDTH, HEIGHT, seed).generateEller();
+			checkMaze(maze);
+			assertEquals(maze.toString(), new MazeGenerator(WIDTH, HEIGHT, seed).generateEller().toString());
+			assertEquals(maze.toString(), MazeGenerator.withGridGraph(WIDTH, HEIGHT, seed).generateEller().toString());
+		}
+	}
+
+	@Test
+	public void testStreamEllerIsSpanningTree() {
+		for (long seed = 0; seed < 10; seed++) {
+			final UnionFind sets = new UnionFind(WIDTH * HEIGHT);
+			final long[] rows = new long[1];
+			MazeGenerator.streamEller(WIDTH, HEIGHT, seed, (y, east, south) -> {
+				assertEquals(rows[0]++, y);
+				assertFalse(east[WIDTH - 1]);
+				for (int x = 0; x < WIDTH; x++) {
+					int cell = (int) y * WIDTH + x;
+					if (east[x]) {
+						assertTrue("cycle", sets.union(cell, cell + 1));
+					}
+					if (south[x]) {
+						assertTrue(y < HEIGHT - 1);
+						assertTrue("cycle", sets.union(cell, cell + WIDTH));
+					}
+				}
+			});
+			assertEquals(HEIGHT, rows[0]);
+			for (int cell = 1; cell < WIDTH * HEIGHT; cell++) {
+				assertEquals(sets.find(0), sets.find(cell));
+			}
+		}
+	}
+
+	@Test
+	public void testTiled() {
+		ForkJoinPool one = new ForkJoinPool(1);
+		ForkJoinPool four = new ForkJoinPool(4);
+		try {
+			for (long seed = 0; seed < 10; seed++) {
+				for (int tileSize : new int[] { 1, 5, 8, 17, 100 }) {
+					Maze maze = new MazeGenerator(WIDTH, HEIGHT, seed).generateTiled(tileSize, one);
+					checkMaze(maze);
+					assertEquals(maze.toString(),
+							new MazeGenerator(WIDTH, HEIGHT, seed).generateTiled(tileSize, four).toString());
+					assertEquals(maze.toString(),
+							MazeGenerator.withGridGraph(WIDTH, HEIGHT, seed).generateTiled(tileSize).toString());
+				}
+			}
+		} finally {
+			one.shutdown();
+			four.shutdown();
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package mazes;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.Test;
+
+import search.Searcher;
+
+public class MazeRenderTest {
+	@Test
+	public void testRenderMatchesToString() throws IOException {
+		for (long seed = 0; seed < 10; seed++) {
+			Maze maze = new MazeGenerator(21, 12, seed).generateDfs();
+			StringBuilder sb = new StringBuilder();
+			maze.render(sb);
+			assertEquals(maze.toString() + "\n", sb.toString());
+
+			StringWriter writer = new StringWriter();
+			maze.render(writer);
+			assertEquals(sb.toString(), writer.toString());
+
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			maze.render(bytes);
+			assertEquals(sb.toString(), new String(bytes.toByteArray(), StandardCharsets.US_ASCII));
+		}
+	}
+
+	@Test
+	public void testPathOverlay() throws IOException {
+		Maze maze = new MazeGenerator(21, 12, 3).generateDfs();
+		List<Cell> path = new Searcher<Cell>(maze).findSolution();
+		StringBuilder sb = new StringBuilder();
+		maze.render(sb, path);
+		String[] lines = sb.toString().split("\n");
+		int dots = 0;
+		for (int y = 0; y < 12; y++) {
+			for (int x = 0; x < 21; x++) {
+				char c = lines[1 + 2 * y].charAt(1 + 2 * x);
+				Cell cell = new Cell(x, y);
+				if (cell.equals(maze.getInitialState())) {
+					assertEquals('S', c);
+				} else if (maze.isGoal(cell)) {
+					assertEquals('G', c);
+				} else {
+					assertEquals(path.contains(cell) ? '.' : ' ', c);
+					dots += c == '.' ? 1 : 0;
+				}
+			}
+		}
+		assertEquals(path.size() - 2, dots);
+		assertEquals(maze.toString(), sb.toString().replace('.', ' ').trim());
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package mazes;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import search.AStarSearcher;
+
+public class MazeTest {
+	@Test
+	public void testNoGoals() {
+		GridGraph graph = new GridGraph(3, 3);
+		for (int x = 0; x < 3; x++) {
+			for (int y = 0; y < 3; y++) {
+				if (x < 2) {
+					graph.addEdge(new Cell(x, y), new Cell(x + 1, y));
+				}
+				if (y < 2) {
+					graph.addEdge(new Cell(x, y), new Cell(x, y + 1));
+				}
+			}
+		}
+		Maze maze = new Maze(3, 3, graph, new Cell(1, 1), new ArrayList<Cell>());
+		assertEquals(Integer.MAX_VALUE, maze.estimateDistanceToGoal(new Cell(0, 0)));
+		AStarSearcher<Cell> s = new AStarSearcher<Cell>(maze);
+		assertTrue(s.findSolution().isEmpty());
+		// every reachable cell is expanded, in spite of the unbounded estimates
+		assertEquals(9, s.getExpandedCount());
+	}
+}
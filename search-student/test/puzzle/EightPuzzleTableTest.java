@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package puzzle;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import search.Searcher;
+
+public class EightPuzzleTableTest {
+	private static EightPuzzleTable table;
+
+	@BeforeClass
+	public static void beforeClass() {
+		table = EightPuzzleTable.build();
+	}
+
+	@Test
+	public void testRank() {
+		assertEquals(0, EightPuzzleTable.rank(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8)));
+		assertEquals(362879, EightPuzzleTable.rank(Arrays.asList(8, 7, 6, 5, 4, 3, 2, 1, 0)));
+	}
+
+	@Test
+	public void testDistance() {
+		assertEquals(0, table.distance(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 0)));
+		assertEquals(1, table.distance(Arrays.asList(1, 2, 3, 4, 5, 0, 7, 8, 6)));
+		assertEquals(31, table.distance(Arrays.asList(8, 6, 7, 2, 5, 4, 3, 0, 1)));
+		assertEquals(-1, table.distance(Arrays.asList(2, 1, 3, 4, 5, 6, 7, 8, 0)));
+	}
+
+	@Test
+	public void testSolveMatchesSearcher() {
+		for (long seed = 0; seed < 20; seed++) {
+			List<Integer> start = SlidingPuzzle.scramble(3, 100, seed);
+			final Searcher<List<Integer>> s = new Searcher<List<Integer>>(new EightPuzzle(start));
+			List<List<Integer>> solution = table.solve(start);
+			assertTrue(s.isValidSolution(solution));
+			assertEquals(s.findSolution().size(), solution.size());
+		}
+	}
+
+	@Test
+	public void testUnsolvable() {
+		assertTrue(table.solve(Arrays.asList(2, 1, 3, 4, 5, 6, 7, 8, 0)).isEmpty());
+	}
+
+	@Test
+	public void testSaveAndLoad() throws IOException {
+		File file = File.createTempFile("eight-puzzle", ".table");
+		try {
+			table.save(file);
+			EightPuzzleTable loaded = EightPuzzleTable.load(file);
+			List<Integer> start = Arrays.asList(8, 6, 7, 2, 5, 4, 3, 0, 1);
+			assertEquals(table.solve(start), loaded.solve(start));
+		} finally {
+			file.delete();
+		}
+	}
+}
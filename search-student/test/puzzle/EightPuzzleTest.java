@@ -6,6 +6,7 @@ package puzzle;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -54,4 +55,11 @@ public class EightPuzzleTest {
 		assertTrue(successors.contains(Arrays.asList(new Integer[] {1, 2, 3, 4, 0, 5, 7, 8, 6})));
 	}
 
+	@Test
+	public void testForEachSuccessor() {
+		List<List<Integer>> successors = new ArrayList<List<Integer>>();
+		oneStepPuzzle.forEachSuccessor(oneStep, successors::add);
+		assertEquals(oneStepPuzzle.getSuccessors(oneStep), successors);
+	}
+
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package puzzle;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import search.AStarSearcher;
+import search.Searcher;
+
+public class PackedPuzzleTest {
+	private final List<Integer> oneStep = Arrays.asList(new Integer[] {1, 2, 3, 4, 5, 0, 7, 8, 6});
+
+	@Test
+	public void testPackUnpack() {
+		assertEquals(oneStep, PackedPuzzle.unpack(PackedPuzzle.pack(oneStep), 3));
+		List<Integer> fifteen = SlidingPuzzle.scramble(4, 100, 3);
+		assertEquals(fifteen, PackedPuzzle.unpack(PackedPuzzle.pack(fifteen), 4));
+	}
+
+	@Test
+	public void testEmptySpace() {
+		PackedPuzzle puzzle = new PackedPuzzle(3, oneStep);
+		assertEquals(5, puzzle.emptySpace(puzzle.initialState()));
+		assertEquals(8, puzzle.emptySpace(puzzle.goalState()));
+		PackedPuzzle fifteen = new PackedPuzzle(4, SlidingPuzzle.scramble(4, 0, 0));
+		assertEquals(15, fifteen.emptySpace(fifteen.initialState()));
+	}
+
+	@Test
+	public void testSuccessorsMatchSlidingPuzzle() {
+		for (int size = 3; size <= 4; size++) {
+			for (long seed = 0; seed < 20; seed++) {
+				List<Integer> state = SlidingPuzzle.scramble(size, 50, seed);
+				SlidingPuzzle unpacked = new SlidingPuzzle(size, state);
+				PackedPuzzle packed = new PackedPuzzle(size, state);
+				List<List<Integer>> expected = unpacked.getSuccessors(state);
+				List<List<Integer>> actual = new ArrayList<>();
+				for (Long successor : packed.getSuccessors(packed.getInitialState())) {
+					actual.add(PackedPuzzle.unpack(successor, size));
+				}
+				assertEquals(expected, actual);
+				assertEquals(unpacked.estimateDistanceToGoal(state),
+						packed.estimateDistanceToGoal(packed.initialState()));
+			}
+		}
+	}
+
+	@Test
+	public void testSolutionsMatchEightPuzzle() {
+		List<Integer> start = Arrays.asList(8, 6, 7, 2, 5, 4, 3, 0, 1);
+		PackedPuzzle packed = new PackedPuzzle(3, start);
+		final Searcher<Long> s = new Searcher<Long>(packed);
+		List<Long> solution = s.findSolution();
+		assertTrue(s.isValidSolution(solution));
+		assertEquals(32, solution.size());
+		assertEquals(32, new AStarSearcher<Long>(packed).findSolution().size());
+		assertEquals(start, PackedPuzzle.unpack(solution.get(0), 3));
+	}
+
+	@Test
+	public void testSolvableMatchesTable() {
+		EightPuzzleTable table = EightPuzzleTable.build();
+		PackedPuzzle packed = new PackedPuzzle(3, oneStep);
+		for (int rank = 0; rank < 362880; rank++) {
+			List<Integer> state = EightPuzzleTable.unrank(rank);
+			boolean solvable = table.distance(state) >= 0;
+			assertEquals(solvable, SlidingPuzzle.isSolvable(3, state));
+			assertEquals(solvable, packed.isSolvable(PackedPuzzle.pack(state)));
+		}
+		// swapping two tiles of a solvable fifteen-puzzle state makes it unsolvable
+		for (long seed = 0; seed < 20; seed++) {
+			List<Integer> state = new ArrayList<Integer>(SlidingPuzzle.scramble(4, 100, seed));
+			PackedPuzzle fifteen = new PackedPuzzle(4, state);
+			assertTrue(fifteen.isSolvable(fifteen.initialState()));
+			int a = state.get(0) == 0 ? 1 : 0;
+			int b = state.get(2) == 0 ? 3 : 2;
+			Collections.swap(state, a, b);
+			assertFalse(SlidingPuzzle.isSolvable(4, state));
+			assertEquals(Integer.MAX_VALUE, new PackedPuzzle(4, state).estimateDistanceToGoal(PackedPuzzle.pack(state)));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidSize() {
+		new PackedPuzzle(5, SlidingPuzzle.scramble(5, 0, 0));
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package puzzle;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import search.AStarSearcher;
+import search.IterativeDeepeningAStarSearcher;
+
+public class PatternDatabaseTest {
+	private static List<PatternDatabase> databases;
+	private static EightPuzzleTable table;
+
+	@BeforeClass
+	public static void beforeClass() {
+		databases = Arrays.asList(PatternDatabase.build(3, 1, 2, 3, 4), PatternDatabase.build(3, 5, 6, 7, 8));
+		table = EightPuzzleTable.build();
+	}
+
+	@Test
+	public void testAdmissibleAndAtLeastManhattan() {
+		for (long seed = 0; seed < 200; seed++) {
+			List<Integer> start = SlidingPuzzle.scramble(3, 100, seed);
+			PatternDatabasePuzzle puzzle = new PatternDatabasePuzzle(3, start, databases);
+			int estimate = puzzle.estimateDistanceToGoal(puzzle.initialState());
+			assertTrue(estimate <= table.distance(start));
+			assertTrue(estimate >= new SlidingPuzzle(3, start).estimateDistanceToGoal(start));
+		}
+	}
+
+	@Test
+	public void testGoalIsZero() {
+		PatternDatabasePuzzle puzzle = new PatternDatabasePuzzle(3, SlidingPuzzle.scramble(3, 0, 0), databases);
+		assertEquals(0, puzzle.estimateDistanceToGoal(puzzle.initialState()));
+	}
+
+	@Test
+	public void testSolutionsAreShortest() {
+		for (long seed = 0; seed < 10; seed++) {
+			List<Integer> start = SlidingPuzzle.scramble(3, 100, seed);
+			PatternDatabasePuzzle puzzle = new PatternDatabasePuzzle(3, start, databases);
+			final IterativeDeepeningAStarSearcher<Long> s = new IterativeDeepeningAStarSearcher<Long>(puzzle);
+			List<Long> solution = s.findSolution();
+			assertTrue(s.isValidSolution(solution));
+			assertEquals(table.distance(start) + 1, solution.size());
+			assertEquals(solution.size(), new AStarSearcher<Long>(puzzle).findSolution().size());
+		}
+	}
+
+	@Test
+	public void testPackedPositionsMatchArray() {
+		for (long seed = 0; seed < 50; seed++) {
+			int[] tilePositions = new int[9];
+			long packed = 0;
+			List<Integer> start = SlidingPuzzle.scramble(3, 100, seed);
+			for (int i = 0; i < 9; i++) {
+				tilePositions[start.get(i)] = i;
+				packed |= (long) i << (4 * start.get(i));
+			}
+			for (PatternDatabase database : databases) {
+				assertEquals(database.distance(tilePositions), database.distance(packed));
+			}
+		}
+	}
+
+	@Test
+	public void testSaveAndLoad() throws IOException {
+		File file = File.createTempFile("eight-puzzle", ".pdb");
+		try {
+			databases.get(0).save(file);
+			PatternDatabase loaded = PatternDatabase.load(file);
+			assertArrayEquals(databases.get(0).getTiles(), loaded.getTiles());
+			for (long seed = 0; seed < 50; seed++) {
+				int[] tilePositions = new int[9];
+				List<Integer> start = SlidingPuzzle.scramble(3, 100, seed);
+				for (int i = 0; i < 9; i++) {
+					tilePositions[start.get(i)] = i;
+				}
+				assertEquals(databases.get(0).distance(tilePositions), loaded.distance(tilePositions));
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOverlappingGroups() {
+		new PatternDatabasePuzzle(3, SlidingPuzzle.scramble(3, 0, 0),
+				Arrays.asList(PatternDatabase.build(3, 1, 2, 3, 4), PatternDatabase.build(3, 4, 5, 6, 7, 8)));
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import mazes.Cell;
+import mazes.Maze;
+import mazes.MazeGenerator;
+import puzzle.EightPuzzle;
+
+import org.junit.Test;
+
+public class AStarSearcherTest {
+	@Test
+	public void testSmallMaze() {
+		Maze maze = new MazeGenerator(3, 3, 2).generateDfs();
+		final AStarSearcher<Cell> s = new AStarSearcher<Cell>(maze);
+		List<Cell> solution = s.findSolution();
+		assertTrue(s.isValidSolution(solution));
+		assertEquals(5, solution.size());
+	}
+
+	@Test
+	public void testMazesMatchBreadthFirst() {
+		for (long seed = 0; seed < 20; seed++) {
+			Maze maze = new MazeGenerator(30, 20, seed).generateDfs();
+			final AStarSearcher<Cell> s = new AStarSearcher<Cell>(maze);
+			List<Cell> solution = s.findSolution();
+			assertTrue(s.isValidSolution(solution));
+			assertEquals(new Searcher<Cell>(maze).findSolution().size(), solution.size());
+		}
+	}
+
+	@Test
+	public void testEightPuzzleMatchesBreadthFirst() {
+		EightPuzzle puzzle = new EightPuzzle(Arrays.asList(8, 6, 7, 2, 5, 4, 3, 0, 1));
+		final AStarSearcher<List<Integer>> s = new AStarSearcher<List<Integer>>(puzzle);
+		List<List<Integer>> solution = s.findSolution();
+		assertTrue(s.isValidSolution(solution));
+		assertEquals(32, solution.size());
+		assertEquals(new Searcher<List<Integer>>(puzzle).findSolution().size(), solution.size());
+	}
+
+	@Test
+	public void testEightPuzzleAlreadySolved() {
+		List<Integer> solved = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 0);
+		final AStarSearcher<List<Integer>> s = new AStarSearcher<List<Integer>>(new EightPuzzle(solved));
+		assertEquals(Arrays.asList(solved), s.findSolution());
+		assertEquals(0, s.getExpandedCount());
+	}
+
+	@Test
+	public void testDeadEndsAreNotExpanded() {
+		// a line from 0 to the goal at 10, and a dead-end branch of negative
+		// states from which the goal cannot be reached
+		HeuristicSearchProblem<Integer> line = new HeuristicSearchProblem<Integer>() {
+			public Integer getInitialState() {
+				return 0;
+			}
+
+			public List<Integer> getSuccessors(Integer state) {
+				if (state == 0) {
+					return Arrays.asList(-1, 1);
+				}
+				if (state < 0) {
+					return state > -20 ? Arrays.asList(state - 1) : Arrays.<Integer> asList();
+				}
+				return state < 10 ? Arrays.asList(state + 1) : Arrays.<Integer> asList();
+			}
+
+			public boolean isGoal(Integer state) {
+				return state == 10;
+			}
+
+			public int estimateDistanceToGoal(Integer state) {
+				return state < 0 ? Integer.MAX_VALUE : 10 - state;
+			}
+		};
+		AStarSearcher<Integer> s = new AStarSearcher<Integer>(line);
+		assertEquals(11, s.findSolution().size());
+		assertEquals(10, s.getExpandedCount());
+	}
+
+	@Test
+	public void testSolveAllSearchesWithAStar() {
+		Maze maze = new MazeGenerator(30, 20, 4).generateDfs();
+		final AStarSearcher<Cell> s = new AStarSearcher<Cell>(maze);
+		List<Cell> starts = Arrays.asList(new Cell(0, 0), new Cell(29, 0), new Cell(0, 19), new Cell(29, 19));
+		for (Iterator<Searcher.Solution<Cell>> it = s.solveAll(starts); it.hasNext();) {
+			Searcher.Solution<Cell> solution = it.next();
+			Maze from = maze.withStart(solution.start);
+			assertTrue(new Searcher<Cell>(from).isValidSolution(solution.path));
+			assertEquals(new Searcher<Cell>(from).findSolution().size(), solution.path.size());
+		}
+		assertTrue(s.getExpandedCount() > 0);
+	}
+}
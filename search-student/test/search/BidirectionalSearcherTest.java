@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import mazes.Cell;
+import mazes.Maze;
+import mazes.MazeGenerator;
+import puzzle.EightPuzzle;
+
+import org.junit.Test;
+
+public class BidirectionalSearcherTest {
+	@Test
+	public void testMazesMatchBreadthFirst() {
+		for (long seed = 0; seed < 20; seed++) {
+			Maze maze = new MazeGenerator(30, 20, seed).generateDfs();
+			final BidirectionalSearcher<Cell> s = new BidirectionalSearcher<Cell>(maze);
+			List<Cell> solution = s.findSolution();
+			assertTrue(s.isValidSolution(solution));
+			assertEquals(new Searcher<Cell>(maze).findSolution().size(), solution.size());
+		}
+	}
+
+	@Test
+	public void testEightPuzzleMatchesBreadthFirst() {
+		EightPuzzle puzzle = new EightPuzzle(Arrays.asList(8, 6, 7, 2, 5, 4, 3, 0, 1));
+		final BidirectionalSearcher<List<Integer>> s = new BidirectionalSearcher<List<Integer>>(puzzle);
+		List<List<Integer>> solution = s.findSolution();
+		assertTrue(s.isValidSolution(solution));
+		assertEquals(32, solution.size());
+	}
+
+	@Test
+	public void testUnsolvableEightPuzzle() {
+		EightPuzzle puzzle = new EightPuzzle(Arrays.asList(2, 1, 3, 4, 5, 6, 7, 8, 0));
+		assertTrue(new BidirectionalSearcher<List<Integer>>(puzzle).findSolution().isEmpty());
+	}
+}
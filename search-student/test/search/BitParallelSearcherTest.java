@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import mazes.Cell;
+import mazes.DistanceField;
+import mazes.Maze;
+import mazes.MazeGenerator;
+
+public class BitParallelSearcherTest {
+	@Test
+	public void testMatchesBreadthFirst() {
+		// widths on both sides of a word border
+		for (int width : new int[] { 5, 63, 64, 65, 130 }) {
+			for (long seed = 0; seed < 3; seed++) {
+				Maze maze = new MazeGenerator(width, 9, seed).generateDfs();
+				BitParallelSearcher shared = new BitParallelSearcher(maze);
+				DistanceField field = new DistanceField(maze);
+				for (int x = 0; x < width; x += 3) {
+					for (int y = 0; y < 9; y += 2) {
+						Cell start = new Cell(x, y);
+						Searcher<Cell> s = new Searcher<Cell>(maze.withStart(start));
+						List<Cell> solution = shared.findSolutionFrom(start);
+						assertTrue(s.isValidSolution(solution));
+						assertEquals(field.distance(start) + 1, solution.size());
+						assertEquals(solution.size(), shared.getLevelCount());
+					}
+				}
+				assertEquals(width * 9, shared.floodFill(maze.getInitialState()));
+			}
+		}
+	}
+
+	@Test
+	public void testFollowsOpenedPassages() {
+		Maze maze = new MazeGenerator(70, 10, 2).generateKruskal();
+		BitParallelSearcher s = new BitParallelSearcher(maze);
+		maze.addEdgeListener(s);
+		for (int x = 0; x < 69; x++) {
+			maze.openPassage(new Cell(x, 0), new Cell(x + 1, 0));
+			maze.openPassage(new Cell(x, 9), new Cell(x + 1, 9));
+		}
+		for (int y = 0; y < 9; y++) {
+			maze.openPassage(new Cell(0, y), new Cell(0, y + 1));
+			maze.openPassage(new Cell(69, y), new Cell(69, y + 1));
+		}
+		DistanceField field = new DistanceField(maze);
+		for (int x = 0; x < 70; x += 7) {
+			Cell start = new Cell(x, 5);
+			List<Cell> solution = s.findSolutionFrom(start);
+			assertTrue(new Searcher<Cell>(maze.withStart(start)).isValidSolution(solution));
+			assertEquals(field.distance(start) + 1, solution.size());
+		}
+	}
+
+	@Test(timeout = 20000)
+	public void testPassagesOpenedDuringSolveAll() {
+		Maze maze = new MazeGenerator(70, 10, 3).generateKruskal();
+		BitParallelSearcher s = new BitParallelSearcher(maze);
+		maze.addEdgeListener(s);
+		List<Cell> starts = new ArrayList<Cell>();
+		for (int round = 0; round < 20; round++) {
+			for (int x = 0; x < 70; x += 5) {
+				starts.add(new Cell(x, round % 10));
+			}
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Iterator<Searcher.Solution<Cell>> it = s.solveAll(starts, executor);
+			// passages are only added, so a path found at any point stays valid
+			for (int x = 0; x < 69; x++) {
+				for (int y = 0; y < 10; y++) {
+					maze.openPassage(new Cell(x, y), new Cell(x + 1, y));
+				}
+			}
+			int count = 0;
+			while (it.hasNext()) {
+				Searcher.Solution<Cell> solution = it.next();
+				assertTrue(new Searcher<Cell>(maze.withStart(solution.start)).isValidSolution(solution.path));
+				count++;
+			}
+			assertEquals(starts.size(), count);
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import mazes.Cell;
+import mazes.CellCodec;
+import mazes.Maze;
+import mazes.MazeGenerator;
+import puzzle.EightPuzzle;
+import puzzle.PuzzleStateCodec;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ExternalSearcherTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testMazesMatchBreadthFirst() {
+		for (long seed = 0; seed < 10; seed++) {
+			Maze maze = new MazeGenerator(30, 20, seed).generateDfs();
+			// a tiny budget, so that most levels are split into several runs
+			final ExternalSearcher<Cell> s = new ExternalSearcher<Cell>(maze, new CellCodec(), folder.getRoot(), 64);
+			List<Cell> solution = s.findSolution();
+			assertTrue(s.isValidSolution(solution));
+			assertEquals(new Searcher<Cell>(maze).findSolution().size(), solution.size());
+			assertEquals(solution.size(), s.getLevelSizes().size());
+		}
+		assertEquals(0, folder.getRoot().list().length);
+	}
+
+	@Test
+	public void testMergeBuffersFitBudget() {
+		for (long budget : new long[] { 20 << 10, 1 << 20, 1 << 30 }) {
+			int fanIn = ExternalSearcher.fanIn(budget);
+			assertTrue(fanIn >= 2);
+			assertTrue((fanIn + 3L) * ExternalSearcher.ioBufferSize(budget) <= budget);
+		}
+		// below the smallest buffers, the fewest and smallest are used
+		assertEquals(2, ExternalSearcher.fanIn(64));
+		assertEquals(ExternalSearcher.MIN_IO_BUFFER_SIZE, ExternalSearcher.ioBufferSize(64));
+	}
+
+	@Test
+	public void testDeepSearchWithManyRuns() {
+		// dozens of levels, many merged from more runs than fit in one pass
+		Maze maze = new MazeGenerator(40, 40, 7).generateDfs();
+		final ExternalSearcher<Cell> s = new ExternalSearcher<Cell>(maze, new CellCodec(), folder.getRoot(), 64);
+		List<Cell> solution = s.findSolution();
+		assertTrue(s.isValidSolution(solution));
+		assertEquals(new Searcher<Cell>(maze).findSolution().size(), solution.size());
+		assertEquals(solution.size(), s.getLevelSizes().size());
+		assertEquals(0, folder.getRoot().list().length);
+	}
+
+	@Test
+	public void testEightPuzzle() {
+		EightPuzzle puzzle = new EightPuzzle(Arrays.asList(8, 6, 7, 2, 5, 4, 3, 0, 1));
+		final ExternalSearcher<List<Integer>> s = new ExternalSearcher<List<Integer>>(puzzle,
+				new PuzzleStateCodec(9), folder.getRoot(), 1 << 16);
+		List<List<Integer>> solution = s.findSolution();
+		assertTrue(s.isValidSolution(solution));
+		assertEquals(32, solution.size());
+	}
+
+	@Test
+	public void testUnsolvableEightPuzzle() {
+		EightPuzzle puzzle = new EightPuzzle(Arrays.asList(2, 1, 3, 4, 5, 6, 7, 8, 0));
+		final ExternalSearcher<List<Integer>> s = new ExternalSearcher<List<Integer>>(puzzle,
+				new PuzzleStateCodec(9), folder.getRoot(), 1 << 20);
+		assertTrue(s.findSolution().isEmpty());
+		long total = 0;
+		for (long size : s.getLevelSizes()) {
+			total += size;
+		}
+		assertEquals(181440, total);
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import mazes.Cell;
+import mazes.Maze;
+import mazes.MazeGenerator;
+
+public class HierarchicalSearcherTest {
+	@Test
+	public void testMatchesBreadthFirst() {
+		for (long seed = 0; seed < 4; seed++) {
+			Maze maze = new MazeGenerator(23, 17, seed).generateDfs();
+			for (int clusterSize : new int[] { 1, 4, 7, 30 }) {
+				HierarchicalSearcher shared = new HierarchicalSearcher(maze, clusterSize);
+				for (int x = 0; x < 23; x += 2) {
+					for (int y = 0; y < 17; y += 3) {
+						Maze from = maze.withStart(new Cell(x, y));
+						HierarchicalSearcher s = new HierarchicalSearcher(from, clusterSize);
+						List<Cell> solution = s.findSolution();
+						assertTrue(s.isValidSolution(solution));
+						assertEquals(new Searcher<Cell>(from).findSolution().size(), solution.size());
+						assertEquals(solution.size(), shared.findSolutionFrom(new Cell(x, y)).size());
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSummariesAreCached() {
+		Maze maze = new MazeGenerator(40, 40, 3).generateKruskal();
+		HierarchicalSearcher s = new HierarchicalSearcher(maze, 8);
+		List<Cell> solution = s.findSolution();
+		// the query reaches 15 of the 25 clusters before it meets a goal
+		assertEquals(15, s.getBuildCount());
+		assertEquals(solution, s.findSolution());
+		assertEquals(15, s.getBuildCount());
+
+		// only the two clusters on either side of a changed passage are rebuilt
+		Cell from = null;
+		Cell to = null;
+		for (int i = 1; from == null; i++) {
+			Cell a = solution.get(i - 1);
+			Cell b = solution.get(i);
+			if (a.posX / 8 != b.posX / 8 || a.posY / 8 != b.posY / 8) {
+				from = a;
+				to = b;
+			}
+		}
+		s.edgeChanged(from, to);
+		assertEquals(solution, s.findSolution());
+		assertEquals(17, s.getBuildCount());
+	}
+
+	@Test
+	public void testOpenPassageRebuildsSummaries() {
+		Maze maze = new MazeGenerator(40, 40, 3).generateKruskal();
+		HierarchicalSearcher s = new HierarchicalSearcher(maze, 8);
+		List<Cell> before = s.findSolution();
+		int builds = s.getBuildCount();
+
+		// open a straight corridor from the start along x, then along y to the goal
+		Cell start = before.get(0);
+		Cell goal = before.get(before.size() - 1);
+		Cell corner = new Cell(goal.posX, start.posY);
+		for (Cell cell = start; !cell.equals(corner);) {
+			Cell next = new Cell(cell.posX + Integer.signum(corner.posX - cell.posX), cell.posY);
+			maze.openPassage(cell, next);
+			cell = next;
+		}
+		for (Cell cell = corner; !cell.equals(goal);) {
+			Cell next = new Cell(cell.posX, cell.posY + Integer.signum(goal.posY - cell.posY));
+			maze.openPassage(cell, next);
+			cell = next;
+		}
+
+		List<Cell> after = s.findSolution();
+		assertTrue(s.isValidSolution(after));
+		assertEquals(new Searcher<Cell>(maze).findSolution().size(), after.size());
+		assertTrue(after.size() < before.size());
+		assertTrue(s.getBuildCount() > builds);
+	}
+}
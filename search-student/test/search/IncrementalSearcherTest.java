@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import mazes.Cell;
+import mazes.Maze;
+import mazes.MazeGenerator;
+import puzzle.EightPuzzle;
+
+public class IncrementalSearcherTest {
+	private static void checkAgainstBreadthFirst(Maze maze) {
+		IncrementalSearcher<Cell> s = new IncrementalSearcher<Cell>(maze);
+		maze.addEdgeListener(s);
+		Random random = new Random(1);
+		for (int round = 0; round < 10; round++) {
+			for (int i = 0; i < 10; i++) {
+				Cell start = new Cell(random.nextInt(maze.getWidth()), random.nextInt(maze.getHeight()));
+				List<Cell> solution = s.findSolutionFrom(start);
+				Maze from = maze.withStart(start);
+				assertTrue(new Searcher<Cell>(from).isValidSolution(solution));
+				assertEquals(new Searcher<Cell>(from).findSolution().size(), solution.size());
+			}
+			// open a few walls between rounds
+			for (int i = 0; i < 5; i++) {
+				int x = random.nextInt(maze.getWidth() - 1);
+				int y = random.nextInt(maze.getHeight() - 1);
+				if (random.nextBoolean()) {
+					maze.openPassage(new Cell(x, y), new Cell(x + 1, y));
+				} else {
+					maze.openPassage(new Cell(x, y), new Cell(x, y + 1));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testMatchesBreadthFirstAsWallsOpen() {
+		for (long seed = 0; seed < 3; seed++) {
+			checkAgainstBreadthFirst(new MazeGenerator(25, 20, seed).generateDfs());
+			checkAgainstBreadthFirst(MazeGenerator.withGridGraph(25, 20, seed).generateKruskal());
+		}
+	}
+
+	@Test
+	public void testReusesDistances() {
+		Maze maze = new MazeGenerator(30, 30, 4).generateDfs();
+		IncrementalSearcher<Cell> s = new IncrementalSearcher<Cell>(maze);
+		List<Cell> solution = s.findSolution();
+		assertTrue(s.getExpandedCount() > 0);
+		assertEquals(solution, s.findSolution());
+		assertEquals(0, s.getExpandedCount());
+		// every state on the path already has its distance
+		assertEquals(solution.subList(1, solution.size()), s.findSolutionFrom(solution.get(1)));
+		assertEquals(0, s.getExpandedCount());
+	}
+
+	@Test
+	public void testSolveAllOnSeveralThreads() {
+		Maze maze = new MazeGenerator(30, 30, 6).generateDfs();
+		IncrementalSearcher<Cell> s = new IncrementalSearcher<Cell>(maze);
+		List<Cell> starts = new ArrayList<Cell>();
+		for (int x = 0; x < 30; x += 3) {
+			for (int y = 0; y < 30; y += 3) {
+				starts.add(new Cell(x, y));
+			}
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			for (Iterator<Searcher.Solution<Cell>> it = s.solveAll(starts, executor); it.hasNext();) {
+				Searcher.Solution<Cell> solution = it.next();
+				Maze from = maze.withStart(solution.start);
+				assertTrue(new Searcher<Cell>(from).isValidSolution(solution.path));
+				assertEquals(new Searcher<Cell>(from).findSolution().size(), solution.path.size());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testEightPuzzle() {
+		EightPuzzle puzzle = new EightPuzzle(Arrays.asList(new Integer[] { 1, 2, 3, 4, 5, 6, 0, 7, 8 }));
+		IncrementalSearcher<List<Integer>> s = new IncrementalSearcher<List<Integer>>(puzzle);
+		List<List<Integer>> solution = s.findSolution();
+		assertTrue(s.isValidSolution(solution));
+		assertEquals(new Searcher<List<Integer>>(puzzle).findSolution().size(), solution.size());
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import mazes.Cell;
+import mazes.Maze;
+import mazes.MazeGenerator;
+import puzzle.EightPuzzle;
+
+import org.junit.Test;
+
+public class IndexedSearcherTest {
+	@Test
+	public void testMazeIndices() {
+		Maze maze = new MazeGenerator(7, 5, 0).generateDfs();
+		assertEquals(35, maze.stateCount());
+		for (int i = 0; i < maze.stateCount(); i++) {
+			Cell cell = maze.stateAt(i);
+			assertEquals(i, maze.indexOf(cell));
+			assertEquals(maze.isGoal(cell), maze.isGoalIndex(i));
+		}
+	}
+
+	@Test
+	public void testMazesMatchBreadthFirst() {
+		for (long seed = 0; seed < 20; seed++) {
+			Maze maze = new MazeGenerator(30, 20, seed).generateDfs();
+			final IndexedSearcher<Cell> s = new IndexedSearcher<Cell>(maze);
+			List<Cell> solution = s.findSolution();
+			assertTrue(s.isValidSolution(solution));
+			assertEquals(new Searcher<Cell>(maze).findSolution(), solution);
+		}
+	}
+
+	@Test
+	public void testEightPuzzle() {
+		EightPuzzle puzzle = new EightPuzzle(Arrays.asList(8, 6, 7, 2, 5, 4, 3, 0, 1));
+		final IndexedSearcher<List<Integer>> s = new IndexedSearcher<List<Integer>>(puzzle);
+		List<List<Integer>> solution = s.findSolution();
+		assertTrue(s.isValidSolution(solution));
+		assertEquals(32, solution.size());
+	}
+
+	@Test
+	public void testUnsolvableEightPuzzle() {
+		EightPuzzle puzzle = new EightPuzzle(Arrays.asList(2, 1, 3, 4, 5, 6, 7, 8, 0));
+		assertTrue(new IndexedSearcher<List<Integer>>(puzzle).findSolution().isEmpty());
+	}
+}
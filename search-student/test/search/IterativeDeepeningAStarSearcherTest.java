@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import mazes.Cell;
+import mazes.Maze;
+import mazes.MazeGenerator;
+import puzzle.EightPuzzle;
+import puzzle.SlidingPuzzle;
+
+import org.junit.Test;
+
+public class IterativeDeepeningAStarSearcherTest {
+	@Test
+	public void testEightPuzzleMatchesBreadthFirst() {
+		EightPuzzle puzzle = new EightPuzzle(Arrays.asList(8, 6, 7, 2, 5, 4, 3, 0, 1));
+		final IterativeDeepeningAStarSearcher<List<Integer>> s = new IterativeDeepeningAStarSearcher<List<Integer>>(puzzle);
+		List<List<Integer>> solution = s.findSolution();
+		assertTrue(s.isValidSolution(solution));
+		assertEquals(32, solution.size());
+	}
+
+	@Test
+	public void testFifteenPuzzleMatchesAStar() {
+		for (long seed = 0; seed < 5; seed++) {
+			SlidingPuzzle puzzle = new SlidingPuzzle(4, SlidingPuzzle.scramble(4, 60, seed));
+			final IterativeDeepeningAStarSearcher<List<Integer>> s = new IterativeDeepeningAStarSearcher<List<Integer>>(puzzle);
+			List<List<Integer>> solution = s.findSolution();
+			assertTrue(s.isValidSolution(solution));
+			assertEquals(new AStarSearcher<List<Integer>>(puzzle).findSolution().size(), solution.size());
+		}
+	}
+
+	@Test
+	public void testIterationBoundsIncrease() {
+		SlidingPuzzle puzzle = new SlidingPuzzle(4, SlidingPuzzle.scramble(4, 60, 1));
+		final IterativeDeepeningAStarSearcher<List<Integer>> s = new IterativeDeepeningAStarSearcher<List<Integer>>(puzzle);
+		List<List<Integer>> solution = s.findSolution();
+		List<IterativeDeepeningAStarSearcher.Iteration> iterations = s.getIterations();
+		assertEquals(puzzle.estimateDistanceToGoal(puzzle.getInitialState()), iterations.get(0).bound);
+		for (int i = 1; i < iterations.size(); i++) {
+			assertTrue(iterations.get(i).bound > iterations.get(i - 1).bound);
+		}
+		assertEquals(solution.size() - 1, iterations.get(iterations.size() - 1).bound);
+	}
+
+	@Test(timeout = 5000)
+	public void testUnsolvableEightPuzzle() {
+		EightPuzzle puzzle = new EightPuzzle(Arrays.asList(2, 1, 3, 4, 5, 6, 7, 8, 0));
+		final IterativeDeepeningAStarSearcher<List<Integer>> s = new IterativeDeepeningAStarSearcher<List<Integer>>(puzzle);
+		assertTrue(s.findSolution().isEmpty());
+		assertTrue(s.getIterations().isEmpty());
+	}
+
+	@Test
+	public void testMazesMatchBreadthFirst() {
+		for (long seed = 0; seed < 10; seed++) {
+			Maze maze = new MazeGenerator(8, 8, seed).generateDfs();
+			final IterativeDeepeningAStarSearcher<Cell> s = new IterativeDeepeningAStarSearcher<Cell>(maze);
+			List<Cell> solution = s.findSolution();
+			assertTrue(s.isValidSolution(solution));
+			assertEquals(new Searcher<Cell>(maze).findSolution().size(), solution.size());
+		}
+	}
+}
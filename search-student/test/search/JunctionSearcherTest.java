@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import mazes.Cell;
+import mazes.JunctionGraph;
+import mazes.Maze;
+import mazes.MazeGenerator;
+
+public class JunctionSearcherTest {
+	@Test
+	public void testMatchesBreadthFirstFromEveryCell() {
+		for (long seed = 0; seed < 5; seed++) {
+			Maze maze = new MazeGenerator(19, 13, seed).generateDfs();
+			JunctionGraph graph = new JunctionGraph(maze);
+			assertTrue(graph.getJunctionCount() < maze.stateCount() / 2);
+			for (int x = 0; x < 19; x++) {
+				for (int y = 0; y < 13; y++) {
+					Maze from = maze.withStart(new Cell(x, y));
+					JunctionSearcher s = new JunctionSearcher(new JunctionGraph(from));
+					List<Cell> solution = s.findSolution();
+					assertTrue(s.isValidSolution(solution));
+					assertEquals(new Searcher<Cell>(from).findSolution().size(), solution.size());
+					assertEquals(solution, new JunctionSearcher(graph).findSolutionFrom(new Cell(x, y)));
+					assertTrue(s.getExpandedCount() <= graph.getJunctionCount());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testEdgesCoverEveryPassage() {
+		Maze maze = new MazeGenerator(25, 25, 7).generateKruskal();
+		JunctionGraph graph = new JunctionGraph(maze);
+		long steps = 0;
+		for (int edge = 0; edge < graph.getEdgeCount(); edge++) {
+			steps += graph.edgeLength(edge);
+			assertTrue(edge >= graph.firstEdge(graph.edgeSource(edge)));
+			assertTrue(edge < graph.firstEdge(graph.edgeSource(edge) + 1));
+		}
+		long passages = 0;
+		for (int x = 0; x < 25; x++) {
+			for (int y = 0; y < 25; y++) {
+				passages += maze.getSuccessors(new Cell(x, y)).size();
+			}
+		}
+		// each passage lies on exactly one corridor, which has two edges
+		assertEquals(passages, steps);
+	}
+}
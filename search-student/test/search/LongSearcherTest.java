@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import puzzle.PackedPuzzle;
+import puzzle.SlidingPuzzle;
+
+import org.junit.Test;
+
+public class LongSearcherTest {
+	@Test
+	public void testEightPuzzle() {
+		PackedPuzzle puzzle = new PackedPuzzle(3, Arrays.asList(8, 6, 7, 2, 5, 4, 3, 0, 1));
+		final LongSearcher s = new LongSearcher(puzzle);
+		List<Long> solution = s.findSolution();
+		assertTrue(s.isValidSolution(solution));
+		assertEquals(32, solution.size());
+	}
+
+	@Test
+	public void testFifteenPuzzleMatchesBreadthFirst() {
+		for (long seed = 0; seed < 5; seed++) {
+			PackedPuzzle puzzle = new PackedPuzzle(4, SlidingPuzzle.scramble(4, 30, seed));
+			final LongSearcher s = new LongSearcher(puzzle);
+			List<Long> solution = s.findSolution();
+			assertTrue(s.isValidSolution(solution));
+			assertEquals(new Searcher<Long>(puzzle).findSolution().size(), solution.size());
+		}
+	}
+
+	@Test
+	public void testAlreadySolved() {
+		PackedPuzzle puzzle = new PackedPuzzle(3, SlidingPuzzle.scramble(3, 0, 0));
+		assertEquals(Arrays.asList(puzzle.goalState()), new LongSearcher(puzzle).findSolution());
+	}
+
+	@Test
+	public void testUnsolvableEightPuzzle() {
+		PackedPuzzle puzzle = new PackedPuzzle(3, Arrays.asList(2, 1, 3, 4, 5, 6, 7, 8, 0));
+		assertTrue(new LongSearcher(puzzle).findSolution().isEmpty());
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017 Marc Liberatore.
+ */
+
+package search;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import mazes.Cell;
+import mazes.Maze;
+import mazes.MazeGenerator;
+import puzzle.EightPuzzle;
+
+import org.junit.Test;
+
+public class ParallelSearcherTest {
+	@Test
+	public void testMazesMatchBreadthFirst() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (long seed = 0; seed < 20; seed++) {
+				Maze maze = new MazeGenerator(30, 20, seed).generateDfs();
+				final ParallelSearcher<Cell> s = new ParallelSearcher<Cell>(maze, pool);
+				List<Cell> solution = s.findSolution();
+				assertTrue(s.isValidSolution(solution));
+				assertEquals(new Searcher<Cell>(maze).findSolution().size(), solution.size());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testFrozenMaze() {
+		Maze maze = new MazeGenerator(40, 40, 3).generateDfs();
+		final ParallelSearcher<Cell> s = new ParallelSearcher<Cell>(maze.freeze());
+		List<Cell> solution = s.findSolution();
+		assertTrue(s.isValidSolution(solution));
+		assertEquals(new Searcher<Cell>(maze).findSolution().size(), solution.size());
+	}
+
+	@Test
+	public void testEightPuzzle() {
+		EightPuzzle puzzle = new EightPuzzle(Arrays.asList(8, 6, 7, 2, 5, 4, 3, 0, 1));
+		final ParallelSearcher<List<Integer>> s = new ParallelSearcher<List<Integer>>(puzzle);
+		List<List<Integer>> solution = s.findSolution();
+		assertTrue(s.isValidSolution(solution));
+		assertEquals(32, solution.size());
+	}
+
+	@Test
+	public void testUnsolvableEightPuzzle() {
+		EightPuzzle puzzle = new EightPuzzle(Arrays.asList(2, 1, 3, 4, 5, 6, 7, 8, 0));
+		assertTrue(new ParallelSearcher<List<Integer>>(puzzle).findSolution().isEmpty());
+	}
+}
@@ -7,10 +7,18 @@ package search;
 import static org.junit.Assert.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import mazes.Cell;
+import mazes.DistanceField;
 import mazes.Maze;
 import mazes.MazeGenerator;
 
@@ -132,9 +140,95 @@ public class SearcherTest {
 		assertTrue(s.isValidSolution(s.findSolution()));
 	}
 	
+	@Test
+	public void testForEachSuccessorMatchesGetSuccessors() {
+		for (int x = 0; x < 3; x++) {
+			for (int y = 0; y < 3; y++) {
+				final Cell cell = new Cell(x, y);
+				final List<Cell> streamed = new ArrayList<Cell>();
+				maze.forEachSuccessor(cell, streamed::add);
+				assertEquals(new HashSet<Cell>(maze.getSuccessors(cell)), new HashSet<Cell>(streamed));
+				assertEquals(maze.getSuccessors(cell).size(), streamed.size());
+			}
+		}
+	}
+
 	@Test
 	public void testSolver() {
 		final Searcher<Cell> s = new Searcher<Cell>(maze);
 		assertTrue(s.isValidSolution(s.findSolution()));
 	}
+
+	@Test
+	public void testSolveAll() {
+		Maze big = new MazeGenerator(40, 30, 5).generateDfs();
+		List<Cell> starts = new ArrayList<Cell>();
+		for (int x = 0; x < 40; x += 3) {
+			for (int y = 0; y < 30; y += 2) {
+				starts.add(new Cell(x, y));
+			}
+		}
+		// the lengths are checked against a distance field, which finds them
+		// by a single search outward from the goals
+		DistanceField field = new DistanceField(big);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Set<Cell> seen = new HashSet<Cell>();
+			for (Iterator<Searcher.Solution<Cell>> it = new Searcher<Cell>(big).solveAll(starts, executor); it
+					.hasNext();) {
+				Searcher.Solution<Cell> solution = it.next();
+				assertTrue(seen.add(solution.start));
+				assertTrue(new Searcher<Cell>(big.withStart(solution.start)).isValidSolution(solution.path));
+				assertEquals(field.distance(solution.start) + 1, solution.path.size());
+			}
+			assertEquals(new HashSet<Cell>(starts), seen);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testSolveAllOutOfOrder() {
+		Maze big = new MazeGenerator(40, 30, 5).generateDfs();
+		final List<Cell> starts = new ArrayList<Cell>();
+		for (int x = 0; x < 40; x += 8) {
+			starts.add(new Cell(x, x * 29 / 40));
+		}
+		// each search waits until the one after it has been returned, so they
+		// are returned in reverse
+		final List<CountDownLatch> returnedLatches = new ArrayList<CountDownLatch>();
+		for (int i = 0; i <= starts.size(); i++) {
+			returnedLatches.add(new CountDownLatch(i < starts.size() ? 1 : 0));
+		}
+		Searcher<Cell> searcher = new Searcher<Cell>(big) {
+			@Override
+			public List<Cell> findSolutionFrom(Cell initialState) {
+				final int i = starts.indexOf(initialState);
+				try {
+					returnedLatches.get(i + 1).await();
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+				return super.findSolutionFrom(initialState);
+			}
+		};
+
+		DistanceField field = new DistanceField(big);
+		ExecutorService executor = Executors.newFixedThreadPool(starts.size());
+		try {
+			List<Cell> returned = new ArrayList<Cell>();
+			for (Iterator<Searcher.Solution<Cell>> it = searcher.solveAll(starts, executor); it.hasNext();) {
+				Searcher.Solution<Cell> solution = it.next();
+				returned.add(solution.start);
+				returnedLatches.get(starts.indexOf(solution.start)).countDown();
+				assertTrue(new Searcher<Cell>(big.withStart(solution.start)).isValidSolution(solution.path));
+				assertEquals(field.distance(solution.start) + 1, solution.path.size());
+			}
+			List<Cell> reversed = new ArrayList<Cell>(starts);
+			Collections.reverse(reversed);
+			assertEquals(reversed, returned);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
 }